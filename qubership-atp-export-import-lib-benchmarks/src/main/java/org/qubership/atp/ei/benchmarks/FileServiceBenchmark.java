@@ -0,0 +1,104 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.qubership.atp.ei.node.dto.EntityEncoding;
+import org.qubership.atp.ei.node.services.FileService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Packing of the export work dir and unpacking of the import archive.
+ * Every invocation processes the whole tree, so it is measured as a single shot.
+ * The size of the packed tree is logged for every entity encoding, as JMH reports only times of single shots.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int entities;
+
+    @Param({"0", "4"})
+    public int archiveParallelism;
+
+    @Param({"JSON", "SMILE"})
+    public EntityEncoding encoding;
+
+    private FileService fileService;
+    private SyntheticTree tree;
+    private Path archive;
+    private Path unpackDir;
+
+    /**
+     * Prepare the tree and its archive to unpack.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fileService = new FileService(archiveParallelism);
+        tree = SyntheticTree.prepare(entities, encoding, fileService);
+        archive = fileService.packDirectory(tree.getWorkDir());
+        long archiveSize = Files.size(archive);
+        log.info("Archive of {} {} entities is {} bytes, {} bytes per entity", entities, encoding, archiveSize,
+                archiveSize / entities);
+        unpackDir = tree.getWorkDir().resolveSibling(tree.getWorkDir().getFileName() + "-unpacked");
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteUnpacked() {
+        fileService.deletePath(unpackDir);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fileService.deletePath(archive);
+        fileService.shutdown();
+    }
+
+    @Benchmark
+    public Path packDirectory() {
+        return fileService.packDirectory(tree.getWorkDir());
+    }
+
+    @Benchmark
+    public Path unpackZipFile() {
+        return fileService.unpackZipFile(archive, unpackDir);
+    }
+}
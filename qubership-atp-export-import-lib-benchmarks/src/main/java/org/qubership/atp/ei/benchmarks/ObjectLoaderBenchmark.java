@@ -0,0 +1,137 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.qubership.atp.ei.node.dto.EntityEncoding;
+import org.qubership.atp.ei.node.services.FileService;
+import org.qubership.atp.ei.node.services.ObjectLoaderFromDiskService;
+
+/**
+ * Lookup, listing and reading of entity files by import, parsing of JSON and Smile entities is compared.
+ * The loader keeps folder indexes between calls, so lookups and listings are measured with the index built,
+ * as they run during an import; {@link #findFileOnDiskColdIndex()} measures the first lookup in a work dir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ObjectLoaderBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int entities;
+
+    @Param({"JSON", "SMILE"})
+    public EntityEncoding encoding;
+
+    private FileService fileService;
+    private ObjectLoaderFromDiskService loader;
+    private SyntheticTree tree;
+    private Map<UUID, UUID> replacementMap;
+    private UUID[] ids;
+    private UUID[] parentIds;
+    private Path[] files;
+    private int next;
+
+    /**
+     * Prepare the tree and the sampled entities to look up and read.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fileService = new FileService();
+        loader = new ObjectLoaderFromDiskService();
+        tree = SyntheticTree.prepare(entities, encoding, fileService);
+        replacementMap = tree.replacementMap();
+        int[] indexes = tree.samples();
+        ids = new UUID[indexes.length];
+        parentIds = new UUID[indexes.length];
+        files = new Path[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            ids[i] = tree.id(indexes[i]);
+            parentIds[i] = tree.parentId(indexes[i]);
+            files[i] = tree.file(indexes[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        loader.shutdown();
+        fileService.shutdown();
+    }
+
+    private int nextSample() {
+        int sample = next;
+        next = (next + 1) % ids.length;
+        return sample;
+    }
+
+    @Benchmark
+    public Path findFileOnDisk() {
+        return loader.findFileOnDisk(tree.getWorkDir(), ids[nextSample()]);
+    }
+
+    /**
+     * Find a file in the work dir which has no index yet.
+     */
+    @Benchmark
+    public Path findFileOnDiskColdIndex() {
+        loader.invalidateFolderIndex(tree.getWorkDir());
+        return loader.findFileOnDisk(tree.getWorkDir(), ids[nextSample()]);
+    }
+
+    @Benchmark
+    public SyntheticEntity loadFileAsObjectWithReplacementMap() {
+        return loader.loadFileAsObjectWithReplacementMap(files[nextSample()], SyntheticEntity.class,
+                replacementMap, false);
+    }
+
+    @Benchmark
+    public SyntheticEntity loadFileAsObjectWithReplacementMapCheckStringForId() {
+        return loader.loadFileAsObjectWithReplacementMap(files[nextSample()], SyntheticEntity.class,
+                replacementMap, true);
+    }
+
+    @Benchmark
+    public Map<UUID, Path> getListOfObjectsOfParent() {
+        return loader.getListOfObjects(tree.getWorkDir(), SyntheticEntity.class, parentIds[nextSample()]);
+    }
+
+    @Benchmark
+    public Map<UUID, Path> getListOfObjects() {
+        return loader.getListOfObjects(tree.getWorkDir(), SyntheticEntity.class);
+    }
+}
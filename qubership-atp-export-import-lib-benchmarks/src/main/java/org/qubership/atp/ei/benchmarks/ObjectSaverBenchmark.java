@@ -0,0 +1,92 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.qubership.atp.ei.node.dto.EntityEncoding;
+import org.qubership.atp.ei.node.services.FileService;
+import org.qubership.atp.ei.node.services.ObjectSaverToDiskService;
+
+/**
+ * Writing of a single entity file by export, serialization of JSON and Smile entities is compared.
+ * Entities are rewritten in place at sampled positions of the tree, so the tree stays valid for other benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ObjectSaverBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int entities;
+
+    @Param({"JSON", "SMILE"})
+    public EntityEncoding encoding;
+
+    private FileService fileService;
+    private ObjectSaverToDiskService saver;
+    private SyntheticTree tree;
+    private SyntheticEntity[] samples;
+    private int next;
+
+    /**
+     * Prepare the tree and entities to write, they are built upfront to keep their allocation out of the results.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fileService = new FileService();
+        saver = new ObjectSaverToDiskService(fileService, false, encoding);
+        tree = SyntheticTree.prepare(entities, encoding, fileService);
+        int[] indexes = tree.samples();
+        samples = new SyntheticEntity[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            samples[i] = tree.entity(indexes[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fileService.shutdown();
+    }
+
+    /**
+     * Write the next sampled entity.
+     */
+    @Benchmark
+    public void writeAtpEntityToFile() {
+        SyntheticEntity entity = samples[next];
+        next = (next + 1) % samples.length;
+        saver.writeAtpEntityToFile(entity.getId(), entity, entity.getParentId(), tree.getClassDir());
+    }
+}
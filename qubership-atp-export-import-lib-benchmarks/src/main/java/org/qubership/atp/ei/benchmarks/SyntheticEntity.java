@@ -0,0 +1,38 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.Data;
+
+/**
+ * Entity written to synthetic trees, its shape follows typical ATP entities:
+ * a few plain fields, references to other entities and ids stored as strings.
+ */
+@Data
+public class SyntheticEntity {
+    private UUID id;
+    private UUID parentId;
+    private String name;
+    private String description;
+    private String link;
+    private List<UUID> references;
+    private Map<String, String> attributes;
+}
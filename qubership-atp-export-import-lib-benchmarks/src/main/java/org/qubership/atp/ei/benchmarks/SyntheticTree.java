@@ -0,0 +1,149 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.qubership.atp.ei.node.dto.EntityEncoding;
+import org.qubership.atp.ei.node.services.FileService;
+import org.qubership.atp.ei.node.services.ObjectSaverToDiskService;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Work dir of an export with synthetic entities, laid out as {@link ObjectSaverToDiskService#exportAtpEntity}
+ * does: {@code <workDir>/SyntheticEntity/<parentId>/<id>.json}, in the given entity encoding.
+ * Ids are derived from the entity index, so every benchmark and every fork sees the same tree.
+ * Generating a large tree takes minutes, so a complete tree is kept in the benchmarks dir
+ * (property {@code atp.ei.benchmarks.dir}, the temp dir by default) and reused by the next runs.
+ */
+@Slf4j
+@Getter
+public final class SyntheticTree {
+
+    public static final int ENTITIES_PER_PARENT = 100;
+    public static final int SAMPLES = 1024;
+    private static final int REPLACED_ENTITY_STEP = 100;
+    private static final String DIR_PROPERTY = "atp.ei.benchmarks.dir";
+
+    private final int entities;
+    private final EntityEncoding encoding;
+    private final Path workDir;
+    private final Path classDir;
+
+    private SyntheticTree(int entities, EntityEncoding encoding, Path workDir) {
+        this.entities = entities;
+        this.encoding = encoding;
+        this.workDir = workDir;
+        this.classDir = workDir.resolve(SyntheticEntity.class.getSimpleName());
+    }
+
+    /**
+     * Get the tree of the given size, generate it if there is no complete tree on disk yet.
+     *
+     * @param entities    number of entities
+     * @param encoding    encoding of entity files
+     * @param fileService the file service
+     * @return the tree
+     * @throws IOException if the tree cannot be generated
+     */
+    public static SyntheticTree prepare(int entities, EntityEncoding encoding, FileService fileService)
+            throws IOException {
+        Path baseDir = Path.of(System.getProperty(DIR_PROPERTY, System.getProperty("java.io.tmpdir")),
+                "atp-ei-benchmarks");
+        String treeName = "tree-" + entities + "-" + encoding.name().toLowerCase(Locale.ROOT);
+        SyntheticTree tree = new SyntheticTree(entities, encoding, baseDir.resolve(treeName));
+        Path completeMarker = baseDir.resolve(treeName + ".complete");
+        if (!Files.exists(completeMarker)) {
+            log.warn("Generate tree of {} {} entities in {}", entities, encoding, tree.workDir);
+            fileService.deletePath(tree.workDir);
+            ObjectSaverToDiskService saver = new ObjectSaverToDiskService(fileService, false, encoding);
+            IntStream.range(0, entities).parallel()
+                    .forEach(index -> saver.exportAtpEntity(tree.id(index), tree.entity(index),
+                            tree.parentId(index), tree.workDir));
+            Files.createFile(completeMarker);
+        }
+        return tree;
+    }
+
+    public UUID id(int index) {
+        return UUID.nameUUIDFromBytes(("entity-" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public UUID parentId(int index) {
+        return UUID.nameUUIDFromBytes(("parent-" + index / ENTITIES_PER_PARENT).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Path file(int index) {
+        return classDir.resolve(parentId(index).toString()).resolve(id(index) + ".json");
+    }
+
+    /**
+     * Build the entity stored in the tree at the index.
+     *
+     * @param index the index
+     * @return the entity
+     */
+    public SyntheticEntity entity(int index) {
+        SyntheticEntity entity = new SyntheticEntity();
+        entity.setId(id(index));
+        entity.setParentId(parentId(index));
+        entity.setName("Entity " + index);
+        entity.setDescription("Synthetic entity " + index + " of " + entities
+                + " generated to measure export and import of large projects");
+        entity.setLink(id((index + 7) % entities).toString());
+        entity.setReferences(List.of(id((index + 1) % entities), id((index + 2) % entities),
+                id((index + 3) % entities)));
+        entity.setAttributes(Map.of("type", "synthetic", "index", Integer.toString(index),
+                "parent", parentId(index).toString()));
+        return entity;
+    }
+
+    /**
+     * Pick indexes of entities spread over the whole tree, the same ones on every run.
+     *
+     * @return {@link #SAMPLES} indexes
+     */
+    public int[] samples() {
+        return new Random(entities).ints(SAMPLES, 0, entities).toArray();
+    }
+
+    /**
+     * Build replacement map of an import, which replaces ids of every hundredth entity.
+     *
+     * @return the replacement map
+     */
+    public Map<UUID, UUID> replacementMap() {
+        Random random = new Random(entities);
+        Map<UUID, UUID> replacementMap = new HashMap<>();
+        for (int index = 0; index < entities; index += REPLACED_ENTITY_STEP) {
+            replacementMap.put(id(index), new UUID(random.nextLong(), random.nextLong()));
+        }
+        return replacementMap;
+    }
+}
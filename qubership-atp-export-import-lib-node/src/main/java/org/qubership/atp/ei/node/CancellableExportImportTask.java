@@ -18,6 +18,8 @@ package org.qubership.atp.ei.node;
 
 import java.util.concurrent.Callable;
 
+import org.qubership.atp.ei.node.dto.TaskProgress;
+
 public interface CancellableExportImportTask extends Callable<Object> {
 
     /**
@@ -30,4 +32,12 @@ public interface CancellableExportImportTask extends Callable<Object> {
      * Cancel the Task.
      */
     void setCancelled();
+
+    /**
+     * Progress of the Task, shown by the tasks endpoint while the Task is queued or running.
+     * @return progress updated by the Task or null if the Task does not report it.
+     */
+    default TaskProgress getProgress() {
+        return null;
+    }
 }
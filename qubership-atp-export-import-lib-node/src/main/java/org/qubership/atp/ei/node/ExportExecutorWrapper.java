@@ -21,15 +21,23 @@ import java.nio.file.Path;
 import java.util.Map;
 import java.util.UUID;
 
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ArchiveManifest;
+import org.qubership.atp.ei.node.dto.ArchiveStatistics;
+import org.qubership.atp.ei.node.dto.CancellationToken;
 import org.qubership.atp.ei.node.dto.ExportFormat;
 import org.qubership.atp.ei.node.dto.ExportImportData;
 import org.qubership.atp.ei.node.dto.ExportNodeInfo;
 import org.qubership.atp.ei.node.dto.ExportScope;
 import org.qubership.atp.ei.node.dto.RunNodeRequest;
+import org.qubership.atp.ei.node.dto.TaskPhase;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.qubership.atp.ei.node.dto.ThreadBinding;
 import org.qubership.atp.ei.node.exceptions.ExportException;
 import org.qubership.atp.ei.node.services.ExportImportFilesService;
 import org.qubership.atp.ei.node.services.FileService;
 import org.qubership.atp.ei.node.services.MetricsExportImportService;
+import org.qubership.atp.ei.node.services.ObjectLoaderFromDiskService;
 import org.qubership.atp.ei.node.services.impl.NotifyService;
 import org.qubership.atp.integration.configuration.mdc.MdcUtils;
 import org.slf4j.MDC;
@@ -58,9 +66,13 @@ public class ExportExecutorWrapper implements CancellableExportImportTask, Expor
     private final ExportImportFilesService exportImportFilesService;
     private final SecurityContext securityContext;
     private final FileService fileService;
-    private boolean isCancelled;
     private Map<String, String> mdcContext;
     private final MetricsExportImportService metricsExportImportService;
+    private final ObjectLoaderFromDiskService objectLoaderFromDiskService;
+    private final ArchiveStatistics archiveStatistics = new ArchiveStatistics();
+    private final Stopwatch packTimer = Stopwatch.createUnstarted();
+    private final TaskProgress progress;
+    private final CancellationToken cancellationToken = new CancellationToken();
 
     /**
      * Instantiates a new Export executor wrapper.
@@ -77,6 +89,28 @@ public class ExportExecutorWrapper implements CancellableExportImportTask, Expor
                                  NotifyService notifyService,
                                  ObjectMapper objectMapper, ExportImportFilesService exportImportFilesService,
                                  FileService fileService, MetricsExportImportService metricsExportImportService) {
+        this(request, defaultWorkDir, exportExecutor, exportNodeInfo, notifyService, objectMapper,
+                exportImportFilesService, fileService, metricsExportImportService, null);
+    }
+
+    /**
+     * Instantiates a new Export executor wrapper which drops indexes of object files of the work dir
+     * once the task is finished.
+     *
+     * @param request                     the request
+     * @param defaultWorkDir              the default work dir
+     * @param exportExecutor              the export executor
+     * @param exportNodeInfo              the export node info
+     * @param notifyService               the notify service to orchestrator
+     * @param objectMapper                the object mapper
+     * @param objectLoaderFromDiskService the loader which indexes object files, may be null
+     */
+    public ExportExecutorWrapper(RunNodeRequest request, Path defaultWorkDir,
+                                 ExportExecutor exportExecutor, ExportNodeInfo exportNodeInfo,
+                                 NotifyService notifyService,
+                                 ObjectMapper objectMapper, ExportImportFilesService exportImportFilesService,
+                                 FileService fileService, MetricsExportImportService metricsExportImportService,
+                                 ObjectLoaderFromDiskService objectLoaderFromDiskService) {
         this.request = request;
         this.projectId = request.getProjectId();
         this.exportScope = request.getExportScope();
@@ -91,6 +125,8 @@ public class ExportExecutorWrapper implements CancellableExportImportTask, Expor
         this.workDir = createExportWorkDir(defaultWorkDir, fileService);
         this.mdcContext = MDC.getCopyOfContextMap();
         this.metricsExportImportService = metricsExportImportService;
+        this.objectLoaderFromDiskService = objectLoaderFromDiskService;
+        this.progress = new TaskProgress(request.getTaskId(), projectId, request.getProcessId(), Constant.EXPORT);
     }
 
     @SneakyThrows
@@ -98,42 +134,90 @@ public class ExportExecutorWrapper implements CancellableExportImportTask, Expor
         if (Files.exists(defaultWorkDir)) {
             fileService.deletePath(defaultWorkDir);
         }
+        // an archive left by the previous export would be taken for entities written straight into the archive
+        fileService.deletePath(fileService.getArchivePath(defaultWorkDir));
 
         return fileService.createDirectory(defaultWorkDir);
     }
 
     @Override
     public Object call() throws Exception {
+        String outcome = MetricsExportImportService.OUTCOME_FAILURE;
+        try {
+            Object result = export();
+            outcome = MetricsExportImportService.OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            progress.finish();
+            metricsExportImportService.addTaskMetrics(progress, format,
+                    isCancelled() ? MetricsExportImportService.OUTCOME_CANCELLED : outcome);
+        }
+    }
+
+    private Object export() throws Exception {
         log.debug("Export wrapper, mdcContext = {}", mdcContext);
         final Stopwatch timer = Stopwatch.createStarted();
-        metricsExportImportService.registerProcess(request.getProjectId().toString(), request.getProcessId(),
-                metricsExportImportService.ACTIVE_EXPORT_PROCESS_COUNT);
 
         MdcUtils.setContextMap(mdcContext);
         SecurityContextHolder.setContext(securityContext);
+        ThreadBinding cancellationBinding = cancellationToken.bind();
+        ThreadBinding progressBinding = progress.bind();
         Path dir;
         String fileId;
         try {
-            exportToFolder(new ExportImportData(projectId, exportScope, format), workDir);
-            dir = fileService.packDirectory(workDir);
-            fileId = exportImportFilesService.storeInGridFs(dir, request.getProcessId());
+            progress.setPhase(TaskPhase.EXPORTING);
+            ExportImportData exportData = new ExportImportData(projectId, exportScope, format);
+            exportData.setProgress(progress);
+            exportData.setCancellationToken(cancellationToken);
+            exportToFolder(exportData, workDir);
+            Path entitiesArchive = fileService.getArchivePath(workDir);
+            if (Files.exists(entitiesArchive)) {
+                // entities are written straight into the archive of the work dir, it is stored as is
+                checkNotWrittenAsFiles(workDir, entitiesArchive);
+                dir = entitiesArchive;
+                fileService.collectArchiveStatistics(dir, archiveStatistics);
+                progress.setPhase(TaskPhase.UPLOADING);
+                fileId = exportImportFilesService.storeInGridFs(dir, request.getProcessId());
+            } else if (exportImportFilesService.isStreamingExportEnabled()) {
+                dir = null;
+                progress.setPhase(TaskPhase.UPLOADING);
+                packTimer.start();
+                fileId = exportImportFilesService.packAndStoreInGridFs(workDir, request.getProcessId(),
+                        archiveStatistics);
+                packTimer.stop();
+            } else {
+                progress.setPhase(TaskPhase.PACKING);
+                packTimer.start();
+                dir = fileService.packDirectory(workDir, archiveStatistics);
+                packTimer.stop();
+                progress.setPhase(TaskPhase.UPLOADING);
+                fileId = exportImportFilesService.storeInGridFs(dir, request.getProcessId());
+            }
+            progress.addBytesProcessed(archiveStatistics.getArchivedBytes());
+            metricsExportImportService.addArchiveMetrics(request.getProjectId(), packTimer, archiveStatistics);
         } catch (Exception e) {
             log.error("Error occurred while exporting", e);
             if (!isCancelled()) {
+                progress.setPhase(TaskPhase.NOTIFYING);
                 notifyService.notifyExportFlow(e, request);
             }
             throw e;
         } finally {
+            progressBinding.close();
+            cancellationBinding.close();
             fileService.deletePath(workDir);
+            if (objectLoaderFromDiskService != null) {
+                objectLoaderFromDiskService.invalidateFolderIndex(workDir);
+            }
             try {
                 metricsExportImportService.addTimeMetric(request.getProjectId(), timer,
-                        metricsExportImportService.TOTAL_TIME_OF_EXPORT_PROCESSES);
-                metricsExportImportService.unregisterProcess(UUID.fromString(request.getProcessId()));
+                        MetricsExportImportService.TOTAL_TIME_OF_EXPORT_PROCESSES);
             } catch (Throwable e) {
-                log.error("Unable unregister metric for processId {}", request.getProcessId(), e);
-                throw new ExportException("Unable unregister metric for processId " + request.getProcessId());
+                log.error("Unable register metric for processId {}", request.getProcessId(), e);
+                throw new ExportException("Unable register metric for processId " + request.getProcessId());
             }
         }
+        progress.setPhase(TaskPhase.NOTIFYING);
         notifyService.notifyExportFlow(request, fileId);
 
         return dir;
@@ -159,7 +243,14 @@ public class ExportExecutorWrapper implements CancellableExportImportTask, Expor
 
         if (ExportFormat.ATP == format) {
             if (fileService.isDirNotEmpty(dirForExport)) {
-                fileService.packDirectory(dirForExport);
+                checkNotWrittenAsFiles(dirForExport, fileService.getArchivePath(dirForExport));
+                progress.setPhase(TaskPhase.PACKING);
+                packTimer.start();
+                // the inner archive is an entry of the outer one, only the outer archive is counted in statistics
+                ArchiveManifest manifest = new ArchiveManifest();
+                fileService.packDirectory(dirForExport, manifest);
+                packTimer.stop();
+                progress.addEntitiesProcessed(manifest.getEntries().size());
             }
             fileService.deletePath(dirForExport);
         }
@@ -167,18 +258,35 @@ public class ExportExecutorWrapper implements CancellableExportImportTask, Expor
         log.info("Export project {} with objects {} finished", projectId, exportScope);
     }
 
+    /**
+     * Entities of the dir must not be split between files and the archive written by
+     * {@link org.qubership.atp.ei.node.services.ArchiveEntityWriter}, packing the dir would overwrite the archive.
+     */
+    private void checkNotWrittenAsFiles(Path dir, Path archive) throws ExportException {
+        if (Files.exists(archive) && fileService.isDirNotEmpty(dir)) {
+            log.error("Entities of {} are written both into archive {} and as files", dir, archive);
+            ExportException.throwException("Entities of {} are written both into archive {} and as files",
+                    dir, archive);
+        }
+    }
+
     @Override
     public String getExportImplementationName() {
         return exportExecutor.getExportImplementationName();
     }
 
+    @Override
+    public TaskProgress getProgress() {
+        return progress;
+    }
+
     @Override
     public boolean isCancelled() {
-        return isCancelled;
+        return cancellationToken.isCancelled();
     }
 
     @Override
     public void setCancelled() {
-        this.isCancelled = true;
+        cancellationToken.cancel();
     }
 }
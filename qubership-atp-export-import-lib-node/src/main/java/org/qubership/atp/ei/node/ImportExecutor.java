@@ -28,4 +28,16 @@ public interface ImportExecutor {
      ValidationResult preValidateData(ExportImportData importData, Path workDir) throws Exception;
 
      ValidationResult validateData(ExportImportData importData, Path workDir) throws Exception;
+
+     /**
+      * Whether the executor reads the imported archive in place instead of an extracted folder.
+      * When true, workDir passed to the import and validation methods is the root of a read-only zip
+      * file system mounted over the downloaded archive, so it must be accessed through {@link java.nio.file.Files}
+      * only and must not be converted to {@link java.io.File}.
+      *
+      * @return true if the archive does not need to be extracted
+      */
+     default boolean isImportFromArchiveSupported() {
+          return false;
+     }
 }
@@ -16,18 +16,26 @@
 
 package org.qubership.atp.ei.node;
 
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
-import java.util.UUID;
 
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.CancellationToken;
 import org.qubership.atp.ei.node.dto.ExportImportData;
 import org.qubership.atp.ei.node.dto.RunNodeRequest;
+import org.qubership.atp.ei.node.dto.TaskPhase;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.qubership.atp.ei.node.dto.ThreadBinding;
 import org.qubership.atp.ei.node.dto.ValidationResult;
 import org.qubership.atp.ei.node.dto.validation.ValidationType;
 import org.qubership.atp.ei.node.exceptions.ExportException;
 import org.qubership.atp.ei.node.services.ExportImportFilesService;
 import org.qubership.atp.ei.node.services.FileService;
 import org.qubership.atp.ei.node.services.MetricsExportImportService;
+import org.qubership.atp.ei.node.services.ObjectLoaderFromDiskService;
 import org.qubership.atp.ei.node.services.impl.NotifyService;
 import org.qubership.atp.integration.configuration.mdc.MdcUtils;
 import org.slf4j.MDC;
@@ -46,11 +54,13 @@ public class ImportExecutorWrapper implements CancellableExportImportTask, Impor
     private final ImportExecutor executor;
     private final NotifyService notifyService;
     private final SecurityContext securityContext;
-    private boolean isCancelled;
     private final ExportImportFilesService exportImportFilesService;
     private final FileService fileService;
     private Map<String, String> mdcContext;
     private final MetricsExportImportService metricsExportImportService;
+    private final ObjectLoaderFromDiskService objectLoaderFromDiskService;
+    private final TaskProgress progress;
+    private final CancellationToken cancellationToken = new CancellationToken();
 
     /**
      * Instantiates a new Import executor wrapper.
@@ -66,6 +76,27 @@ public class ImportExecutorWrapper implements CancellableExportImportTask, Impor
                                  ExportImportFilesService exportImportFilesService,
                                  FileService fileService,
                                  MetricsExportImportService metricsExportImportService) {
+        this(request, defaultWorkDir, validationType, importExecutor, notifyService, exportImportFilesService,
+                fileService, metricsExportImportService, null);
+    }
+
+    /**
+     * Instantiates a new Import executor wrapper which drops indexes of object files of the work dir
+     * once the task is finished.
+     *
+     * @param request                     the request
+     * @param defaultWorkDir              the default work dir
+     * @param validationType              the is validation
+     * @param importExecutor              the import executor
+     * @param notifyService               the notify service
+     * @param objectLoaderFromDiskService the loader which indexes object files, may be null
+     */
+    public ImportExecutorWrapper(RunNodeRequest request, Path defaultWorkDir, ValidationType validationType,
+                                 ImportExecutor importExecutor, NotifyService notifyService,
+                                 ExportImportFilesService exportImportFilesService,
+                                 FileService fileService,
+                                 MetricsExportImportService metricsExportImportService,
+                                 ObjectLoaderFromDiskService objectLoaderFromDiskService) {
         this.validationType = validationType;
         this.request = request;
         this.defaultWorkDir = defaultWorkDir;
@@ -76,6 +107,9 @@ public class ImportExecutorWrapper implements CancellableExportImportTask, Impor
         this.fileService = fileService;
         this.mdcContext = MDC.getCopyOfContextMap();
         this.metricsExportImportService = metricsExportImportService;
+        this.objectLoaderFromDiskService = objectLoaderFromDiskService;
+        this.progress = new TaskProgress(request.getTaskId(), request.getProjectId(), request.getProcessId(),
+                Constant.IMPORT);
     }
 
     @Override
@@ -83,7 +117,9 @@ public class ImportExecutorWrapper implements CancellableExportImportTask, Impor
         log.info("Start import data for project {} and task {}", request.getProjectId(), request.getTaskId());
         try {
             executor.importData(importData, workDir);
-            fileService.deletePath(workDir);
+            if (!isMountedArchive(workDir)) {
+                fileService.deletePath(workDir);
+            }
         } catch (Exception e) {
             log.error("Error occurred while importing data", e);
             throw e;
@@ -117,27 +153,48 @@ public class ImportExecutorWrapper implements CancellableExportImportTask, Impor
         }
     }
 
+    @Override
+    public boolean isImportFromArchiveSupported() {
+        return executor.isImportFromArchiveSupported();
+    }
+
+    private boolean isMountedArchive(Path workDir) {
+        return workDir.getFileSystem() != defaultWorkDir.getFileSystem();
+    }
+
     @Override
     public Object call() throws Exception {
         log.debug("Export wrapper, mdcContext = {}", mdcContext);
         final Stopwatch timer = Stopwatch.createStarted();
-        metricsExportImportService.registerProcess(request.getProjectId().toString(), request.getProcessId(),
-                metricsExportImportService.ACTIVE_IMPORT_PROCESS_COUNT);
+        String outcome = MetricsExportImportService.OUTCOME_FAILURE;
         MdcUtils.setContextMap(mdcContext);
         SecurityContextHolder.setContext(securityContext);
+        ThreadBinding cancellationBinding = cancellationToken.bind();
+        ThreadBinding progressBinding = progress.bind();
+        Path archive = null;
+        FileSystem archiveFileSystem = null;
+        Path workDir = defaultWorkDir;
         try {
-            Path pathToImportArchive =
-                    exportImportFilesService.downloadFileInDir(request.getFileDescriptor(), defaultWorkDir);
-            fileService.unpackZipFile(pathToImportArchive, defaultWorkDir);
-            fileService.deletePath(pathToImportArchive);
+            if (isImportFromArchiveSupported()) {
+                progress.setPhase(TaskPhase.DOWNLOADING);
+                archive = exportImportFilesService.downloadFileInDir(request.getFileDescriptor(), defaultWorkDir);
+                progress.addBytesProcessed(Files.size(archive));
+                archiveFileSystem = fileService.openZipFileSystem(archive);
+                workDir = archiveFileSystem.getPath("/");
+            } else {
+                exportImportFilesService.downloadAndUnpack(request.getFileDescriptor(), defaultWorkDir, progress);
+            }
 
             if (validationType != null) {
                 ExportImportData exportImportData = request.toExportImportData();
+                exportImportData.setProgress(progress);
+                exportImportData.setCancellationToken(cancellationToken);
                 ValidationResult validationResult;
+                progress.setPhase(TaskPhase.VALIDATING);
                 if (validationType == ValidationType.PRE_VALIDATE) {
-                    validationResult = preValidateData(exportImportData, defaultWorkDir);
+                    validationResult = preValidateData(exportImportData, workDir);
                 } else {
-                    validationResult = validateData(exportImportData, defaultWorkDir);
+                    validationResult = validateData(exportImportData, workDir);
                 }
                 if (validationResult == null) {
                     validationResult = new ValidationResult();
@@ -149,36 +206,75 @@ public class ImportExecutorWrapper implements CancellableExportImportTask, Impor
                 }
 
                 log.info("Validation result {}", validationResult);
+                progress.setPhase(TaskPhase.NOTIFYING);
                 notifyService.notifyAfterValidation(request, validationResult);
             } else {
-                importData(request.toExportImportData(false), defaultWorkDir);
+                progress.setPhase(TaskPhase.IMPORTING);
+                ExportImportData importData = request.toExportImportData(false);
+                importData.setProgress(progress);
+                importData.setCancellationToken(cancellationToken);
+                importData(importData, workDir);
+                progress.setPhase(TaskPhase.NOTIFYING);
                 notifyService.notifyImportFlow(request);
             }
+            outcome = MetricsExportImportService.OUTCOME_SUCCESS;
         } catch (Exception e) {
             log.info("Exception during import", e);
             if (!isCancelled()) {
+                progress.setPhase(TaskPhase.NOTIFYING);
                 notifyService.notifyImportFlow(e, request);
             }
         } finally {
+            progressBinding.close();
+            cancellationBinding.close();
+            invalidateFolderIndex(workDir);
+            closeArchive(archiveFileSystem, archive);
+            progress.finish();
             try {
                 metricsExportImportService.addTimeMetric(request.getProjectId(), timer,
-                        metricsExportImportService.TOTAL_TIME_OF_IMPORT_PROCESSES);
-                metricsExportImportService.unregisterProcess(UUID.fromString(request.getProcessId()));
+                        MetricsExportImportService.TOTAL_TIME_OF_IMPORT_PROCESSES);
+                metricsExportImportService.addTaskMetrics(progress, request.getExportFormat(),
+                        isCancelled() ? MetricsExportImportService.OUTCOME_CANCELLED : outcome);
             } catch (Throwable e) {
-                log.error("Unable unregister metric for processId {}", request.getProcessId(), e);
-                throw new ExportException("Unable unregister metric for processId " + request.getProcessId());
+                log.error("Unable register metric for processId {}", request.getProcessId(), e);
+                throw new ExportException("Unable register metric for processId " + request.getProcessId());
             }
         }
         return null;
     }
 
+    private void invalidateFolderIndex(Path workDir) {
+        if (objectLoaderFromDiskService != null) {
+            objectLoaderFromDiskService.invalidateFolderIndex(defaultWorkDir);
+            if (isMountedArchive(workDir)) {
+                objectLoaderFromDiskService.invalidateFolderIndex(workDir);
+            }
+        }
+    }
+
+    private void closeArchive(FileSystem archiveFileSystem, Path archive) {
+        if (archiveFileSystem != null) {
+            try {
+                archiveFileSystem.close();
+            } catch (IOException e) {
+                log.error("Cannot close archive {}", archive, e);
+            }
+        }
+        fileService.deletePath(archive);
+    }
+
+    @Override
+    public TaskProgress getProgress() {
+        return progress;
+    }
+
     @Override
     public boolean isCancelled() {
-        return this.isCancelled;
+        return cancellationToken.isCancelled();
     }
 
     @Override
     public void setCancelled() {
-        this.isCancelled = true;
+        cancellationToken.cancel();
     }
 }
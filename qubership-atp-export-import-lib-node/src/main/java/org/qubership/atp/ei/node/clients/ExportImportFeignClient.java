@@ -20,6 +20,7 @@ import java.util.UUID;
 
 import org.qubership.atp.auth.springbootstarter.config.FeignConfiguration;
 import org.qubership.atp.ei.node.dto.ExportImportReportRequest;
+import org.qubership.atp.ei.node.dto.TaskProgress;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -36,4 +37,12 @@ public interface ExportImportFeignClient {
                 @PathVariable("processId") String processId,
                 @PathVariable("taskId") String taskId,
                 @RequestBody ExportImportReportRequest exportImportReportRequest);
+
+    @PostMapping("${feign.atp.ei.route}/ei/api/v1/flow/{exportImportType}"
+                    + "/{projectId}/processes/{processId}/tasks/{taskId}/progress")
+    void reportProgress(@PathVariable("exportImportType") String exportImportType,
+                        @PathVariable("projectId") UUID projectId,
+                        @PathVariable("processId") String processId,
+                        @PathVariable("taskId") String taskId,
+                        @RequestBody TaskProgress progress);
 }
\ No newline at end of file
@@ -42,6 +42,12 @@ public class ExportImportNodeConfig {
     @Value("${atp.export.threadPool.queueCapacity:0}")
     private Integer queueCapacity;
 
+    @Value("${atp.export.threadPool.virtualThreadsEnabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${atp.export.threadPool.maxConcurrentTasks:${atp.export.threadPool.maxPoolSize:40}}")
+    private Integer maxConcurrentTasks;
+
     public static String DEFAULT_WORK_DIR;
 
     @Value("${atp.export.workdir:exportimport/node}")
@@ -56,14 +62,7 @@ public class ExportImportNodeConfig {
      */
     @Bean("atpExportThreadExecutor")
     public ThreadPoolTaskExecutor atpExportThreadExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setThreadNamePrefix("atp-export-");
-        executor.setCorePoolSize(corePoolSize);
-        executor.setMaxPoolSize(maxPoolSize);
-        executor.setQueueCapacity(queueCapacity);
-        executor.setRejectedExecutionHandler(new CustomRunsPolicy());
-        executor.initialize();
-        return executor;
+        return createExecutor("atp-export-");
     }
 
     /**
@@ -73,11 +72,24 @@ public class ExportImportNodeConfig {
      */
     @Bean("atpImportThreadExecutor")
     public ThreadPoolTaskExecutor atpImportThreadExecutor() {
+        return createExecutor("atp-import-");
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(String threadNamePrefix) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setThreadNamePrefix("atp-import-");
-        executor.setCorePoolSize(corePoolSize);
-        executor.setMaxPoolSize(maxPoolSize);
-        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreadsEnabled) {
+            // every task gets its own virtual thread, the number of running tasks is limited by the decorator
+            executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+            executor.setCorePoolSize(0);
+            executor.setMaxPoolSize(Integer.MAX_VALUE);
+            executor.setQueueCapacity(0);
+            executor.setTaskDecorator(new LimitedConcurrencyTaskDecorator(maxConcurrentTasks));
+        } else {
+            executor.setCorePoolSize(corePoolSize);
+            executor.setMaxPoolSize(maxPoolSize);
+            executor.setQueueCapacity(queueCapacity);
+        }
         executor.setRejectedExecutionHandler(new CustomRunsPolicy());
         executor.initialize();
         return executor;
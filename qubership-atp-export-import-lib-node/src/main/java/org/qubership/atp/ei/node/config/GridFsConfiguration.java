@@ -57,7 +57,7 @@ public class GridFsConfiguration {
     @Bean
     public GridFsProvider eiGridFsTemplate() {
         if (StringUtils.isEmpty(host)) {
-            return new GridFsProvider(null);
+            return new GridFsProvider(null, null);
         }
         String mongoClientUri = "mongodb://" + user + ":" + password
                 + "@" + host + ":" + Integer.parseInt(port) + "/?authSource=" + database;
@@ -73,7 +73,7 @@ public class GridFsConfiguration {
         mappingContext.setSimpleTypeHolder(SimpleTypeHolder.DEFAULT);
         mappingContext.afterPropertiesSet();
         MappingMongoConverter mappingConverter = new MappingMongoConverter(dbRefResolver, mappingContext);
-        return new GridFsProvider(new GridFsTemplate(factory, mappingConverter));
+        return new GridFsProvider(new GridFsTemplate(factory, mappingConverter), factory);
     }
 
     @Getter
@@ -81,6 +81,11 @@ public class GridFsConfiguration {
     public static class GridFsProvider {
 
         private final GridFsTemplate gridFsTemplate;
+        private final MongoDatabaseFactory databaseFactory;
+
+        public GridFsProvider(GridFsTemplate gridFsTemplate) {
+            this(gridFsTemplate, null);
+        }
 
         public GridFsTemplate getTemplate() {
             return gridFsTemplate;
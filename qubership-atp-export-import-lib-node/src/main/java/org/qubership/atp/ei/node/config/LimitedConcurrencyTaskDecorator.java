@@ -0,0 +1,73 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.config;
+
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Task decorator for pools of virtual threads, where the number of threads no longer limits
+ * the number of running tasks. A task waits for a permit before it starts, permits are given in FIFO order.
+ * MDC and SecurityContext of the submitting thread are set for the task and cleared afterwards.
+ */
+@Slf4j
+public class LimitedConcurrencyTaskDecorator implements TaskDecorator {
+
+    private final Semaphore permits;
+
+    public LimitedConcurrencyTaskDecorator(int maxConcurrentTasks) {
+        this.permits = new Semaphore(maxConcurrentTasks, true);
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("Task is interrupted while waiting for a free slot");
+                if (runnable instanceof Future<?> future) {
+                    future.cancel(false);
+                }
+                return;
+            }
+            if (mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                runnable.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+                MDC.clear();
+                permits.release();
+            }
+        };
+    }
+
+}
@@ -24,4 +24,6 @@ public class Constant {
     public static final String VALIDATION_FAILED = "VALIDATION_FAILED";
 
     public static final String ENTITY_PROJECTS = "projects";
+
+    public static final String ARCHIVE_MANIFEST_FILE_NAME = "ei-manifest.json";
 }
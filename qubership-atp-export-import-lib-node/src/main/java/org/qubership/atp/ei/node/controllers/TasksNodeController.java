@@ -0,0 +1,57 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.controllers;
+
+import java.util.List;
+
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.qubership.atp.ei.node.services.impl.TasksService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.AllArgsConstructor;
+
+@RestController
+@RequestMapping("/ei/api/v1/node/tasks")
+@AllArgsConstructor
+public class TasksNodeController {
+
+    private final TasksService tasksService;
+
+    @GetMapping
+    public List<TaskProgress> getTasks() {
+        return tasksService.getTasksProgress();
+    }
+
+    /**
+     * Get progress of the queued or running task.
+     *
+     * @param taskId the task id
+     * @return the progress or 404 if the task is not queued or running
+     */
+    @GetMapping("/{taskId}")
+    public ResponseEntity<TaskProgress> getTask(@PathVariable("taskId") String taskId) {
+        TaskProgress progress = tasksService.getTaskProgress(taskId);
+        if (progress == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(progress);
+    }
+}
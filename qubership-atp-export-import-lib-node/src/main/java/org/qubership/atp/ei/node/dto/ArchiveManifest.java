@@ -0,0 +1,94 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Index of all entity files of an ATP archive, written next to the entities as
+ * {@link org.qubership.atp.ei.node.constants.Constant#ARCHIVE_MANIFEST_FILE_NAME}.
+ */
+
+@Data
+public class ArchiveManifest {
+    private List<ManifestEntry> entries = new ArrayList<>();
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile Map<String, Map<UUID, List<ManifestEntry>>> entriesByClass;
+
+    public void setEntries(List<ManifestEntry> entries) {
+        this.entries = entries;
+        this.entriesByClass = null;
+    }
+
+    /**
+     * Find entries of the class with the parent id.
+     * Entries are grouped on the first lookup, entries added to the list after that are not found.
+     *
+     * @param className the simple class name (name of the class folder)
+     * @param parentId  the parent id, null for entities without parent folder
+     * @return the entries
+     */
+    public List<ManifestEntry> findEntries(String className, UUID parentId) {
+        return getEntriesByClass().getOrDefault(className, Collections.emptyMap())
+                .getOrDefault(parentId, Collections.emptyList());
+    }
+
+    /**
+     * Find entries of the class.
+     *
+     * @param className the simple class name (name of the class folder)
+     * @return the entries
+     */
+    public List<ManifestEntry> findEntries(String className) {
+        return getEntriesByClass().getOrDefault(className, Collections.emptyMap()).values().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private Map<String, Map<UUID, List<ManifestEntry>>> getEntriesByClass() {
+        Map<String, Map<UUID, List<ManifestEntry>>> result = entriesByClass;
+        if (result == null) {
+            result = new HashMap<>();
+            for (ManifestEntry entry : entries) {
+                result.computeIfAbsent(entry.getClassName(), className -> new LinkedHashMap<>())
+                        .computeIfAbsent(entry.getParentId(), parentId -> new ArrayList<>())
+                        .add(entry);
+            }
+            entriesByClass = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.dto;
+
+import lombok.Data;
+
+/**
+ * Counters collected while an archive is packed.
+ */
+@Data
+public class ArchiveStatistics {
+    private long entryCount;
+    private long uncompressedBytes;
+    private long archivedBytes;
+    private long storedBytes;
+
+    /**
+     * Add entry.
+     *
+     * @param size         the uncompressed size of the entry
+     * @param archivedSize the size of the entry data in the archive
+     * @param stored       true if the entry was copied without compression
+     */
+    public void addEntry(long size, long archivedSize, boolean stored) {
+        entryCount++;
+        uncompressedBytes += size;
+        archivedBytes += archivedSize;
+        if (stored) {
+            storedBytes += size;
+        }
+    }
+
+    /**
+     * Add counters of another archive.
+     *
+     * @param other the other statistics
+     */
+    public void add(ArchiveStatistics other) {
+        entryCount += other.entryCount;
+        uncompressedBytes += other.uncompressedBytes;
+        archivedBytes += other.archivedBytes;
+        storedBytes += other.storedBytes;
+    }
+}
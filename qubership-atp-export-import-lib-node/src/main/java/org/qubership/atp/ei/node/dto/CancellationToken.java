@@ -0,0 +1,86 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.dto;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation signal of an export or import task.
+ * The wrapper of the task cancels the token as soon as the task is cancelled, executors check it between batches
+ * via {@link ExportImportData#getCancellationToken()}. While the executor runs, the token is also bound to its
+ * thread, so {@link org.qubership.atp.ei.node.services.FileService} and the disk saver and loader stop their
+ * loops without an extra argument. Work submitted to other threads has to capture {@link #current()} first.
+ */
+public class CancellationToken {
+
+    private static final CancellationToken NONE = new CancellationToken(false);
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    private final boolean cancellable;
+    private volatile boolean cancelled;
+
+    public CancellationToken() {
+        this(true);
+    }
+
+    private CancellationToken(boolean cancellable) {
+        this.cancellable = cancellable;
+    }
+
+    /**
+     * Get token bound to the current thread.
+     *
+     * @return the bound token or a token which is never cancelled
+     */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token == null ? NONE : token;
+    }
+
+    /**
+     * Bind the token to the current thread until the returned binding is closed.
+     *
+     * @return the binding, restores the previously bound token on close
+     */
+    public ThreadBinding bind() {
+        return ThreadBinding.bind(CURRENT, this);
+    }
+
+    /**
+     * Request cancellation of the task.
+     */
+    public void cancel() {
+        if (cancellable) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stop the current work if the task is cancelled.
+     *
+     * @throws CancellationException if the task is cancelled
+     */
+    public void throwIfCancelled() throws CancellationException {
+        if (cancelled) {
+            throw new CancellationException("Task is cancelled");
+        }
+    }
+}
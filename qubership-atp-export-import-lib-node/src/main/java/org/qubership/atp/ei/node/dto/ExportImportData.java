@@ -22,11 +22,11 @@ import java.util.UUID;
 
 import org.qubership.atp.ei.node.dto.validation.ValidationType;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
-@AllArgsConstructor
 public class ExportImportData {
     private final UUID projectId;
     private final ExportScope exportScope;
@@ -38,6 +38,49 @@ public class ExportImportData {
     private final Map<UUID, String> newObjectNamesMap;
     private final ValidationType validationType;
     private boolean importFirstTime;
+    /**
+     * Progress of the task, executors update it to report how much work is done.
+     * Updates are cheap, they are sent to the export-import service periodically.
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private TaskProgress progress = new TaskProgress(null);
+    /**
+     * Cancellation signal of the task, executors check it between batches to stop cancelled work early.
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CancellationToken cancellationToken = new CancellationToken();
+
+    /**
+     * Instantiates a new Export import data.
+     *
+     * @param projectId          the project id
+     * @param exportScope        the export scope
+     * @param format             the format
+     * @param createNewProject   the create new project
+     * @param interProjectImport the inter project import
+     * @param importedProjectId  the imported project id
+     * @param replacementMap     the replacement map
+     * @param newObjectNamesMap  the new object names map
+     * @param validationType     the validation type
+     * @param importFirstTime    the import first time
+     */
+    public ExportImportData(UUID projectId, ExportScope exportScope, ExportFormat format, boolean createNewProject,
+                            boolean interProjectImport, UUID importedProjectId, Map<UUID, UUID> replacementMap,
+                            Map<UUID, String> newObjectNamesMap, ValidationType validationType,
+                            boolean importFirstTime) {
+        this.projectId = projectId;
+        this.exportScope = exportScope;
+        this.format = format;
+        this.createNewProject = createNewProject;
+        this.interProjectImport = interProjectImport;
+        this.importedProjectId = importedProjectId;
+        this.replacementMap = replacementMap;
+        this.newObjectNamesMap = newObjectNamesMap;
+        this.validationType = validationType;
+        this.importFirstTime = importFirstTime;
+    }
 
     /**
      * Instantiates a new Export import data.
@@ -28,4 +28,6 @@ public class ExportNodeInfo {
     private String version;
     private String defaultWorkDir;
     private Integer activeExportCount;
+    private Integer queuedExportCount;
+    private EntityEncoding entityEncoding;
 }
@@ -0,0 +1,45 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.dto;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity file listed in the archive manifest.
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ManifestEntry {
+    private String className;
+    private UUID id;
+    private UUID parentId;
+    /**
+     * Path of the entity file relative to the folder with the manifest, with '/' separators.
+     */
+    private String path;
+    private long size;
+    /**
+     * CRC32 of the file content in hex.
+     */
+    private String checksum;
+}
@@ -0,0 +1,35 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.dto;
+
+import java.util.UUID;
+
+import lombok.Data;
+
+/**
+ * Report waiting in the notification outbox to be delivered to the export-import service.
+ */
+@Data
+public class NotificationOutboxEntry {
+    private String exportImportType;
+    private UUID projectId;
+    private String processId;
+    private String taskId;
+    private ExportImportReportRequest report;
+    private long createdTime;
+    private int attempts;
+}
@@ -0,0 +1,39 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.dto;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Result of loading one object file in a batch, either the object or the error of the file.
+ */
+@Data
+@AllArgsConstructor
+public class ObjectLoadResult<T> {
+    private UUID id;
+    private Path path;
+    private T object;
+    private Exception error;
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.dto;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.qubership.atp.ei.node.jfr.TaskPhaseEvent;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * State of a running export or import task.
+ * It is updated by the task thread and read by other threads, so all fields are safe to read at any time.
+ * Processed bytes are the size of the archive uploaded by export or downloaded by import.
+ * Time, bytes and entities are also accounted to the phase which is current when they are added,
+ * so metrics show which phase of the task is slow. Every phase is also recorded as {@link TaskPhaseEvent}.
+ */
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskProgress {
+    private static final ThreadLocal<TaskProgress> CURRENT = new ThreadLocal<>();
+
+    private final String taskId;
+    private final UUID projectId;
+    private final String processId;
+    private final String type;
+    private final long startTime = System.currentTimeMillis();
+    private volatile TaskPhase phase = TaskPhase.QUEUED;
+    private volatile long phaseStartTime = startTime;
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong bytesProcessed = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong entitiesProcessed = new AtomicLong();
+    private volatile long entitiesTotal;
+    private volatile Integer queuePosition;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final long[] phaseDurations = new long[TaskPhase.values().length];
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicLongArray phaseBytes = new AtomicLongArray(TaskPhase.values().length);
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicLongArray phaseEntities = new AtomicLongArray(TaskPhase.values().length);
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private TaskPhaseEvent phaseEvent;
+
+    /**
+     * Instantiates a new task progress.
+     *
+     * @param taskId    the task id
+     * @param projectId the project id
+     * @param processId the process id
+     * @param type      {@link org.qubership.atp.ei.node.constants.Constant#EXPORT}
+     *                  or {@link org.qubership.atp.ei.node.constants.Constant#IMPORT}
+     */
+    public TaskProgress(String taskId, UUID projectId, String processId, String type) {
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.processId = processId;
+        this.type = type;
+        startPhaseEvent();
+    }
+
+    public TaskProgress(String taskId) {
+        this(taskId, null, null, null);
+    }
+
+    /**
+     * Move the task to the next phase.
+     *
+     * @param phase the phase
+     */
+    public synchronized void setPhase(TaskPhase phase) {
+        long now = System.currentTimeMillis();
+        phaseDurations[this.phase.ordinal()] += now - phaseStartTime;
+        commitPhaseEvent();
+        this.phaseStartTime = now;
+        this.phase = phase;
+        startPhaseEvent();
+    }
+
+    /**
+     * Finish the current phase of the completed task.
+     */
+    public synchronized void finish() {
+        commitPhaseEvent();
+        phaseEvent = null;
+    }
+
+    private void startPhaseEvent() {
+        phaseEvent = new TaskPhaseEvent();
+        phaseEvent.begin();
+    }
+
+    private void commitPhaseEvent() {
+        if (phaseEvent == null) {
+            return;
+        }
+        phaseEvent.end();
+        if (phaseEvent.shouldCommit()) {
+            phaseEvent.setTask(this);
+            phaseEvent.setType(type);
+            phaseEvent.setPhase(phase.name());
+            phaseEvent.setBytes(getPhaseBytes(phase));
+            phaseEvent.setEntries(getPhaseEntities(phase));
+            phaseEvent.commit();
+        }
+    }
+
+    /**
+     * Get task bound to the current thread.
+     *
+     * @return the progress of the task or null if the thread does not run a task
+     */
+    public static TaskProgress current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind the task to the current thread, so services called by the task can tag their events with its ids.
+     *
+     * @return the binding, restores the previously bound task on close
+     */
+    public ThreadBinding bind() {
+        return ThreadBinding.bind(CURRENT, this);
+    }
+
+    /**
+     * Gets time spent in the phase, including the current phase up to now.
+     *
+     * @param phase the phase
+     * @return the duration in milliseconds
+     */
+    public synchronized long getPhaseDurationMs(TaskPhase phase) {
+        long duration = phaseDurations[phase.ordinal()];
+        if (phase == this.phase) {
+            duration += System.currentTimeMillis() - phaseStartTime;
+        }
+        return duration;
+    }
+
+    public long getPhaseBytes(TaskPhase phase) {
+        return phaseBytes.get(phase.ordinal());
+    }
+
+    public long getPhaseEntities(TaskPhase phase) {
+        return phaseEntities.get(phase.ordinal());
+    }
+
+    /**
+     * Set position of the task in the queue of the node.
+     *
+     * @param queuePosition the position starting from 1, null once the task is started
+     */
+    public void setQueuePosition(Integer queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+
+    public void setEntitiesTotal(long entitiesTotal) {
+        this.entitiesTotal = entitiesTotal;
+    }
+
+    /**
+     * Gets percentage of processed entities.
+     *
+     * @return the percentage or null if the total number of entities is not known
+     */
+    public Integer getPercentage() {
+        long total = entitiesTotal;
+        if (total <= 0) {
+            return null;
+        }
+        return (int) Math.min(100, getEntitiesProcessed() * 100 / total);
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed.get();
+    }
+
+    public void addBytesProcessed(long bytes) {
+        bytesProcessed.addAndGet(bytes);
+        phaseBytes.addAndGet(phase.ordinal(), bytes);
+    }
+
+    public long getEntitiesProcessed() {
+        return entitiesProcessed.get();
+    }
+
+    public void addEntitiesProcessed(long entities) {
+        entitiesProcessed.addAndGet(entities);
+        phaseEntities.addAndGet(phase.ordinal(), entities);
+    }
+}
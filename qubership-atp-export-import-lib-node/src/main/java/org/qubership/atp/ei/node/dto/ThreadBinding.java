@@ -0,0 +1,46 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.dto;
+
+/**
+ * Binding of a task object to the current thread, restores the previously bound object on close.
+ */
+public interface ThreadBinding extends AutoCloseable {
+
+    @Override
+    void close();
+
+    /**
+     * Bind the value to the current thread until the returned binding is closed.
+     *
+     * @param holder the thread local holding the bound value
+     * @param value  the value, null unbinds the current value
+     * @param <T>    the type of the value
+     * @return the binding
+     */
+    static <T> ThreadBinding bind(ThreadLocal<T> holder, T value) {
+        T previous = holder.get();
+        holder.set(value);
+        return () -> {
+            if (previous == null) {
+                holder.remove();
+            } else {
+                holder.set(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.jfr;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Disk operation of {@link org.qubership.atp.ei.node.services.FileService}: pack, unpack or delete.
+ */
+@Name("org.qubership.atp.ei.FileOperation")
+@Label("Export Import File Operation")
+public class FileOperationEvent extends TaskEvent {
+
+    public static final String PACK = "pack";
+    public static final String UNPACK = "unpack";
+    public static final String DELETE = "delete";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Path")
+    private String path;
+
+    /**
+     * Instantiates and begins a new file operation event.
+     *
+     * @param operation the operation
+     * @param path      the packed, unpacked or deleted path
+     */
+    public FileOperationEvent(String operation, Path path) {
+        this.operation = operation;
+        this.path = String.valueOf(path);
+        begin();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Transfer of an archive between the node and GridFS: store or download.
+ */
+@Name("org.qubership.atp.ei.GridFsTransfer")
+@Label("Export Import GridFS Transfer")
+public class GridFsTransferEvent extends TaskEvent {
+
+    public static final String STORE = "store";
+    public static final String DOWNLOAD = "download";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("File")
+    private String file;
+
+    /**
+     * Instantiates and begins a new GridFS transfer event.
+     *
+     * @param operation the operation
+     * @param file      the name or id of the file
+     */
+    public GridFsTransferEvent(String operation, String file) {
+        this.operation = operation;
+        this.file = file;
+        begin();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.jfr;
+
+import org.qubership.atp.ei.node.dto.TaskProgress;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of Java Flight Recorder events of export and import tasks.
+ * Events carry ids of the task, so GC pauses and I/O stalls of a recording can be matched to the task.
+ * Fields are filled only when {@link #shouldCommit()} is true, a disabled event costs an allocation at most.
+ */
+@Category({"ATP", "Export Import"})
+@StackTrace(false)
+public abstract class TaskEvent extends jdk.jfr.Event {
+
+    @Label("Task Id")
+    protected String taskId;
+
+    @Label("Project Id")
+    protected String projectId;
+
+    @Label("Process Id")
+    protected String processId;
+
+    @Label("Bytes")
+    @DataAmount
+    protected long bytes;
+
+    @Label("Entries")
+    @Description("Number of archive entries or entities")
+    protected long entries;
+
+    /**
+     * Fill ids of the task.
+     *
+     * @param progress the progress of the task, may be null
+     */
+    public void setTask(TaskProgress progress) {
+        if (progress != null) {
+            taskId = progress.getTaskId();
+            projectId = progress.getProjectId() == null ? null : progress.getProjectId().toString();
+            processId = progress.getProcessId();
+        }
+    }
+
+    /**
+     * Finish the event and commit it with ids of the task bound to the current thread.
+     *
+     * @param bytes   the bytes
+     * @param entries the entries
+     */
+    public void commitForCurrentTask(long bytes, long entries) {
+        end();
+        if (shouldCommit()) {
+            setTask(TaskProgress.current());
+            this.bytes = bytes;
+            this.entries = entries;
+            commit();
+        }
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setEntries(long entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Phase of an export or import task, from the moment the task enters the phase until it leaves it.
+ */
+@Name("org.qubership.atp.ei.TaskPhase")
+@Label("Export Import Task Phase")
+public class TaskPhaseEvent extends TaskEvent {
+
+    @Label("Type")
+    private String type;
+
+    @Label("Phase")
+    private String phase;
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+}
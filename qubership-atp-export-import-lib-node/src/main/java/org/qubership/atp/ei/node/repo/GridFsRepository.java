@@ -16,27 +16,76 @@
 
 package org.qubership.atp.ei.node.repo;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.qubership.atp.ei.node.config.GridFsConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Repository;
 
 import com.mongodb.client.gridfs.model.GridFSFile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 
 @Repository
+@Slf4j
 public class GridFsRepository {
 
+    private static final String BUCKET = "fs";
+    private static final int DEFAULT_CHUNK_SIZE = 255 * 1024;
+    private static final int DEFAULT_RETRIES = 3;
+
     private final GridFsTemplate eiGridFsTemplate;
+    private final MongoDatabaseFactory databaseFactory;
+    private final int uploadParallelism;
+    private final int uploadChunkSize;
+    private final int uploadRetries;
+    private final int downloadParallelism;
+    private ExecutorService uploadExecutor;
+    private ParallelGridFsUploader uploader;
+    private ExecutorService downloadExecutor;
+    private ParallelGridFsDownloader downloader;
 
     public GridFsRepository(GridFsConfiguration.GridFsProvider eiGridFsTemplate) {
+        this(eiGridFsTemplate, 0, DEFAULT_CHUNK_SIZE, DEFAULT_RETRIES, 0);
+    }
+
+    /**
+     * Instantiates a new GridFS repository.
+     *
+     * @param eiGridFsTemplate    the GridFS provider
+     * @param uploadParallelism   number of chunks written concurrently by an upload,
+     *                            0 or 1 stores files sequentially by {@link GridFsTemplate}
+     * @param uploadChunkSize     size of chunks of files stored by concurrent uploads
+     * @param uploadRetries       number of retries of a chunk write after a transient error
+     * @param downloadParallelism number of chunk ranges read concurrently by a download,
+     *                            0 or 1 downloads files sequentially from the GridFS stream
+     */
+    @Autowired
+    public GridFsRepository(GridFsConfiguration.GridFsProvider eiGridFsTemplate,
+                            @Value("${atp.ei.gridfs.upload.parallelism:0}") int uploadParallelism,
+                            @Value("${atp.ei.gridfs.upload.chunk-size:261120}") int uploadChunkSize,
+                            @Value("${atp.ei.gridfs.upload.retries:3}") int uploadRetries,
+                            @Value("${atp.ei.gridfs.download.parallelism:0}") int downloadParallelism) {
         this.eiGridFsTemplate = eiGridFsTemplate.getGridFsTemplate();
+        this.databaseFactory = eiGridFsTemplate.getDatabaseFactory();
+        this.uploadParallelism = uploadParallelism;
+        this.uploadChunkSize = uploadChunkSize;
+        this.uploadRetries = uploadRetries;
+        this.downloadParallelism = downloadParallelism;
     }
 
     /**
@@ -53,9 +102,69 @@ public class GridFsRepository {
         document.append("processId", UUID.fromString(processId));
         document.append("originalName", fileName);
 
+        if (uploadParallelism > 1 && databaseFactory != null) {
+            return getUploader().upload(fileInputStream, processId + "_" + fileName, contentType, document);
+        }
         return eiGridFsTemplate.store(fileInputStream, processId + "_" + fileName, contentType, document);
     }
 
+    private synchronized ParallelGridFsUploader getUploader() {
+        if (uploader == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("atp-ei-gridfs-upload-");
+            threadFactory.setDaemon(true);
+            uploadExecutor = Executors.newFixedThreadPool(uploadParallelism, threadFactory);
+            uploader = new ParallelGridFsUploader(databaseFactory.getMongoDatabase(), BUCKET, uploadExecutor,
+                    uploadParallelism, uploadChunkSize, uploadRetries);
+            log.info("GridFS uploads write {} chunks of {} bytes concurrently", uploadParallelism, uploadChunkSize);
+        }
+        return uploader;
+    }
+
+    public boolean isParallelDownloadEnabled() {
+        return downloadParallelism > 1 && databaseFactory != null;
+    }
+
+    /**
+     * Download the file into the target reading its chunks concurrently, see {@link #isParallelDownloadEnabled()}.
+     *
+     * @param objectId the object id
+     * @param target   the target file, it is overwritten
+     * @return the length of the file
+     * @throws IOException if the target cannot be written or the downloaded content is corrupted
+     */
+    public long download(ObjectId objectId, Path target) throws IOException {
+        return getDownloader().download(objectId, target);
+    }
+
+    private synchronized ParallelGridFsDownloader getDownloader() {
+        if (downloader == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("atp-ei-gridfs-download-");
+            threadFactory.setDaemon(true);
+            downloadExecutor = Executors.newFixedThreadPool(downloadParallelism, threadFactory);
+            downloader = new ParallelGridFsDownloader(databaseFactory.getMongoDatabase(), BUCKET, downloadExecutor,
+                    downloadParallelism);
+            log.info("GridFS downloads read {} ranges of chunks concurrently", downloadParallelism);
+        }
+        return downloader;
+    }
+
+    /**
+     * Shutdown upload and download worker threads.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdownNow();
+            uploadExecutor = null;
+            uploader = null;
+        }
+        if (downloadExecutor != null) {
+            downloadExecutor.shutdownNow();
+            downloadExecutor = null;
+            downloader = null;
+        }
+    }
+
     public GridFSFile findOne(ObjectId objectId) {
         return eiGridFsTemplate.findOne(new Query(Criteria.where("_id").is(objectId)));
     }
@@ -63,4 +172,4 @@ public class GridFsRepository {
     public InputStreamResource getResourceById(ObjectId objectId) {
         return eiGridFsTemplate.getResource(findOne(objectId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,210 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.repo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.qubership.atp.ei.node.dto.CancellationToken;
+import org.qubership.atp.ei.node.exceptions.ExportException;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Downloads files from a GridFS bucket reading ranges of their chunks concurrently.
+ * The target file is allocated to the full length upfront and every chunk is written at its own position,
+ * so ranges are downloaded independently. Once all ranges are written the downloader checks that every chunk
+ * arrived exactly once with the expected size, and compares the checksum of the file with the one stored
+ * by {@link ParallelGridFsUploader} (or the legacy {@code md5} field of the files document) when there is one.
+ */
+@Slf4j
+class ParallelGridFsDownloader {
+
+    private static final int RANGES_PER_THREAD = 4;
+    private static final int DIGEST_BUFFER_SIZE = 1024 * 1024;
+    private static final String MD5_FIELD = "md5";
+
+    private final MongoCollection<Document> files;
+    private final MongoCollection<Document> chunks;
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    /**
+     * Instantiates a new downloader.
+     *
+     * @param database    the database
+     * @param bucket      the bucket name, {@code fs} by default in GridFS
+     * @param executor    the executor reading ranges of chunks
+     * @param parallelism number of ranges read concurrently by one download
+     */
+    ParallelGridFsDownloader(MongoDatabase database, String bucket, ExecutorService executor, int parallelism) {
+        this.files = database.getCollection(bucket + ".files");
+        this.chunks = database.getCollection(bucket + ".chunks");
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Download the file into the target, the target is overwritten.
+     *
+     * @param fileId the id of the file
+     * @param target the target file
+     * @return the length of the file
+     * @throws IOException if the target cannot be written or the downloaded content is not consistent
+     */
+    long download(ObjectId fileId, Path target) throws IOException {
+        Document file = files.find(Filters.eq("_id", fileId)).first();
+        if (file == null) {
+            throw new ExportException("File " + fileId + " is not found in GridFS");
+        }
+        long length = file.get("length", Number.class).longValue();
+        int chunkSize = file.get("chunkSize", Number.class).intValue();
+        int chunkCount = (int) ((length + chunkSize - 1) / chunkSize);
+        int ranges = Math.min(chunkCount, parallelism * RANGES_PER_THREAD);
+        CancellationToken cancellationToken = CancellationToken.current();
+
+        try (RandomAccessFile out = new RandomAccessFile(target.toFile(), "rw")) {
+            out.setLength(length);
+            FileChannel channel = out.getChannel();
+            List<Future<?>> futures = new ArrayList<>(ranges);
+            for (int range = 0; range < ranges; range++) {
+                int from = (int) ((long) chunkCount * range / ranges);
+                int to = (int) ((long) chunkCount * (range + 1) / ranges);
+                futures.add(executor.submit(() -> {
+                    downloadRange(fileId, length, chunkSize, from, to, channel, cancellationToken);
+                    return null;
+                }));
+            }
+            awaitRanges(fileId, futures);
+        }
+        verifyChecksum(fileId, file, target);
+        log.debug("Downloaded file {} of {} bytes in {} ranges", fileId, length, ranges);
+        return length;
+    }
+
+    /**
+     * Write chunks from {@code from} (inclusive) to {@code to} (exclusive), checking their order and sizes.
+     */
+    private void downloadRange(ObjectId fileId, long length, int chunkSize, int from, int to, FileChannel channel,
+                               CancellationToken cancellationToken) throws IOException {
+        int expected = from;
+        try (MongoCursor<Document> cursor = chunks
+                .find(Filters.and(Filters.eq("files_id", fileId), Filters.gte("n", from), Filters.lt("n", to)))
+                .sort(Sorts.ascending("n"))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                cancellationToken.throwIfCancelled();
+                Document chunk = cursor.next();
+                int n = chunk.getInteger("n");
+                if (n != expected) {
+                    throw new IOException("Chunk " + expected + " of file " + fileId + " is missing or duplicated,"
+                            + " got chunk " + n);
+                }
+                long position = (long) n * chunkSize;
+                byte[] data = chunk.get("data", Binary.class).getData();
+                long expectedSize = Math.min(chunkSize, length - position);
+                if (data.length != expectedSize) {
+                    throw new IOException("Chunk " + n + " of file " + fileId + " has " + data.length
+                            + " bytes instead of " + expectedSize);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                expected++;
+            }
+        }
+        if (expected != to) {
+            throw new IOException("Chunks from " + expected + " to " + to + " of file " + fileId + " are missing");
+        }
+    }
+
+    private void awaitRanges(ObjectId fileId, List<Future<?>> futures) throws IOException {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExportException("Interrupted while downloading file " + fileId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ExportException("Cannot download file " + fileId, e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void verifyChecksum(ObjectId fileId, Document file, Path target) throws IOException {
+        Document metadata = file.get("metadata", Document.class);
+        String sha256 = metadata == null ? null : metadata.getString(ParallelGridFsUploader.SHA256_FIELD);
+        if (sha256 != null) {
+            verifyChecksum(fileId, target, "SHA-256", sha256);
+        } else if (file.getString(MD5_FIELD) != null) {
+            verifyChecksum(fileId, target, "MD5", file.getString(MD5_FIELD));
+        } else {
+            log.debug("File {} has no checksum, only its chunks are verified", fileId);
+        }
+    }
+
+    private static void verifyChecksum(ObjectId fileId, Path target, String algorithm, String expected)
+            throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ExportException("Cannot verify " + algorithm + " checksum of file " + fileId, e);
+        }
+        byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(target)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        String actual = HexFormat.of().formatHex(digest.digest());
+        if (!actual.equalsIgnoreCase(expected)) {
+            throw new IOException(algorithm + " checksum of downloaded file " + fileId + " is " + actual
+                    + " instead of " + expected);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.repo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.qubership.atp.ei.node.dto.CancellationToken;
+import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.springframework.util.Assert;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOptions;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores files in a GridFS bucket writing their chunks concurrently.
+ * The input is read on the calling thread and cut into chunks, up to twice the parallelism of chunks
+ * are written at once. A write which fails with a transient error is retried for that chunk only,
+ * so chunks confirmed by the server are never sent again and a broken connection does not restart the upload.
+ * The files document is written after all chunks are confirmed, so a partial file is never visible
+ * to readers; chunks of a failed upload are deleted. SHA-256 of the content is stored in metadata,
+ * so {@link ParallelGridFsDownloader} can verify the downloaded file.
+ */
+@Slf4j
+class ParallelGridFsUploader {
+
+    static final String CONTENT_TYPE_FIELD = "_contentType";
+    static final String SHA256_FIELD = "_sha256";
+    static final int MAX_CHUNK_SIZE = 15 * 1024 * 1024;
+    private static final String RETRYABLE_WRITE_ERROR = "RetryableWriteError";
+    private static final long RETRY_DELAY_MS = 200L;
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+
+    private final MongoCollection<Document> files;
+    private final MongoCollection<Document> chunks;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final int retries;
+    private volatile boolean indexesCreated;
+
+    /**
+     * Instantiates a new uploader.
+     *
+     * @param database    the database
+     * @param bucket      the bucket name, {@code fs} by default in GridFS
+     * @param executor    the executor writing chunks, its size is the number of concurrent writes
+     * @param parallelism number of chunks written concurrently by one upload
+     * @param chunkSize   size of chunk in bytes
+     * @param retries     number of retries of a chunk write after a transient error
+     */
+    ParallelGridFsUploader(MongoDatabase database, String bucket, ExecutorService executor, int parallelism,
+                           int chunkSize, int retries) {
+        Assert.isTrue(chunkSize > 0 && chunkSize <= MAX_CHUNK_SIZE,
+                "GridFS chunk size should be from 1 to " + MAX_CHUNK_SIZE + " bytes");
+        this.files = database.getCollection(bucket + ".files");
+        this.chunks = database.getCollection(bucket + ".chunks");
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = Math.max(1, parallelism) * 2;
+        this.retries = retries;
+    }
+
+    /**
+     * Store the content of the stream as a new file.
+     *
+     * @param in          the content, it is not closed
+     * @param fileName    the file name
+     * @param contentType the content type, stored in metadata as GridFsTemplate does
+     * @param metadata    the metadata
+     * @return the id of the stored file
+     * @throws ExportException if the content cannot be read or a chunk cannot be written
+     */
+    ObjectId upload(InputStream in, String fileName, String contentType, Document metadata) throws ExportException {
+        createIndexes();
+        ObjectId fileId = new ObjectId();
+        CancellationToken cancellationToken = CancellationToken.current();
+        Semaphore chunksInFlight = new Semaphore(maxChunksInFlight);
+        AtomicReference<RuntimeException> writeError = new AtomicReference<>();
+        MessageDigest digest = sha256();
+        long length = 0;
+        try {
+            int n = 0;
+            byte[] data = in.readNBytes(chunkSize);
+            while (data.length > 0 && writeError.get() == null) {
+                cancellationToken.throwIfCancelled();
+                chunksInFlight.acquire();
+                submitChunk(fileId, n++, data, chunksInFlight, writeError);
+                digest.update(data);
+                length += data.length;
+                data = data.length < chunkSize ? new byte[0] : in.readNBytes(chunkSize);
+            }
+            chunksInFlight.acquire(maxChunksInFlight);
+            chunksInFlight.release(maxChunksInFlight);
+            if (writeError.get() != null) {
+                throw writeError.get();
+            }
+            if (contentType != null && !contentType.isBlank()) {
+                metadata.append(CONTENT_TYPE_FIELD, contentType);
+            }
+            metadata.append(SHA256_FIELD, HexFormat.of().formatHex(digest.digest()));
+            Document file = new Document("_id", fileId)
+                    .append("length", length)
+                    .append("chunkSize", chunkSize)
+                    .append("uploadDate", new Date())
+                    .append("filename", fileName)
+                    .append("metadata", metadata);
+            retrying("write files document of " + fileId,
+                    () -> files.replaceOne(Filters.eq("_id", fileId), file, UPSERT));
+            log.debug("Stored file {} with id {} in {} chunks", fileName, fileId, n);
+            return fileId;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteChunks(fileId, chunksInFlight);
+            throw new ExportException("Interrupted while storing file " + fileName + " in GridFS", e);
+        } catch (IOException e) {
+            deleteChunks(fileId, chunksInFlight);
+            throw new ExportException("Cannot read file " + fileName + " to store in GridFS", e);
+        } catch (RuntimeException e) {
+            deleteChunks(fileId, chunksInFlight);
+            throw e;
+        }
+    }
+
+    private void submitChunk(ObjectId fileId, int n, byte[] data, Semaphore chunksInFlight,
+                             AtomicReference<RuntimeException> writeError) {
+        Document chunk = new Document("files_id", fileId)
+                .append("n", n)
+                .append("data", new Binary(data));
+        try {
+            executor.execute(() -> {
+                try {
+                    if (writeError.get() == null) {
+                        retrying("write chunk " + n + " of " + fileId, () -> chunks.replaceOne(
+                                Filters.and(Filters.eq("files_id", fileId), Filters.eq("n", n)), chunk, UPSERT));
+                    }
+                } catch (RuntimeException e) {
+                    writeError.compareAndSet(null, e);
+                } finally {
+                    chunksInFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            chunksInFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Run the write, repeating it after transient errors. Writes are upserts by key, so a repeated write
+     * of an already confirmed document (e.g. when the acknowledgement was lost) does not duplicate it.
+     */
+    private void retrying(String operation, Runnable write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write.run();
+                return;
+            } catch (MongoException e) {
+                if (attempt > retries || !isTransient(e)) {
+                    log.error("Cannot {}", operation, e);
+                    throw e;
+                }
+                log.warn("Cannot {}, attempt {} of {}", operation, attempt, retries + 1, e);
+                try {
+                    Thread.sleep(RETRY_DELAY_MS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new ExportException("Interrupted while retrying to " + operation, ie);
+                }
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ExportException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static boolean isTransient(MongoException e) {
+        return e instanceof MongoSocketException
+                || e instanceof MongoTimeoutException
+                || e.hasErrorLabel(RETRYABLE_WRITE_ERROR);
+    }
+
+    private void deleteChunks(ObjectId fileId, Semaphore chunksInFlight) {
+        chunksInFlight.acquireUninterruptibly(maxChunksInFlight);
+        try {
+            chunks.deleteMany(Filters.eq("files_id", fileId));
+        } catch (MongoException e) {
+            log.error("Cannot delete chunks of failed upload {}", fileId, e);
+        }
+    }
+
+    private void createIndexes() {
+        if (indexesCreated) {
+            return;
+        }
+        chunks.createIndex(Indexes.ascending("files_id", "n"), new IndexOptions().unique(true));
+        files.createIndex(Indexes.ascending("filename", "uploadDate"));
+        indexesCreated = true;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ArchiveManifest;
+import org.qubership.atp.ei.node.dto.CancellationToken;
+import org.qubership.atp.ei.node.dto.ManifestEntry;
+import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writer of ATP entities straight into a zip archive, created by
+ * {@link ObjectSaverToDiskService#createArchiveWriter(Path)}.
+ * Entities are stored at {@code <class name>/<parent id>/<id>.json}, the same paths
+ * {@link ObjectSaverToDiskService#exportAtpEntity(UUID, Object, UUID, Path)} uses on disk,
+ * so the archive is read back by the same loader without an intermediate directory tree.
+ * The archive also gets {@link Constant#ARCHIVE_MANIFEST_FILE_NAME} listing all written entities.
+ * Methods are thread-safe, entities are serialized on the calling thread.
+ * Once the task which created the writer is cancelled, new entities are rejected.
+ */
+@Slf4j
+public class ArchiveEntityWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ObjectWriter MANIFEST_WRITER = new ObjectMapper().writer();
+
+    private final ObjectWriter writer;
+    private final CancellationToken cancellationToken = CancellationToken.current();
+    private final Path archiveFile;
+    private final ZipOutputStream zipOut;
+    private final Set<String> entryNames = new HashSet<>();
+    private final ArchiveManifest manifest = new ArchiveManifest();
+    private boolean closed;
+
+    ArchiveEntityWriter(ObjectWriter writer, Path archiveFile) throws ExportException {
+        this.writer = writer;
+        this.archiveFile = archiveFile;
+        ZipOutputStream out = null;
+        try {
+            out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(archiveFile), BUFFER_SIZE));
+        } catch (IOException e) {
+            log.error("Cannot create archive {}", archiveFile, e);
+            ExportException.throwException("Cannot create archive {}", archiveFile, e);
+        }
+        this.zipOut = out;
+    }
+
+    public Path getArchiveFile() {
+        return archiveFile;
+    }
+
+    public void exportAtpEntity(UUID id, Object object) throws ExportException {
+        exportAtpEntity(id, object, null);
+    }
+
+    /**
+     * Write atp entity into {@code <class name>/<parent id>/<id>.json} entry of the archive.
+     * An entity with the same path is written only once.
+     *
+     * @param id       the id
+     * @param object   the object
+     * @param parentId the parent id
+     * @throws ExportException the export exception
+     */
+    public void exportAtpEntity(UUID id, Object object, UUID parentId) throws ExportException {
+        Assert.notNull(id, "Id cannot be null");
+        Assert.notNull(object, "Object cannot be null");
+        cancellationToken.throwIfCancelled();
+        String entryName = object.getClass().getSimpleName() + "/"
+                + (parentId == null ? "" : parentId + "/")
+                + id + ".json";
+        byte[] content = null;
+        try {
+            content = writer.writeValueAsBytes(object);
+        } catch (JsonProcessingException e) {
+            log.error("Cannot serialize object {} for entry {}", id, entryName, e);
+            ExportException.throwException("Cannot serialize object {} for entry {}", id, entryName, e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        writeEntry(entryName, content, new ManifestEntry(object.getClass().getSimpleName(), id, parentId,
+                entryName, content.length, Long.toHexString(crc.getValue())));
+    }
+
+    private synchronized void writeEntry(String entryName, byte[] content, ManifestEntry manifestEntry)
+            throws ExportException {
+        Assert.state(!closed, "Archive " + archiveFile + " is already closed");
+        if (!entryNames.add(entryName)) {
+            log.debug("Entry {} is already written in archive {}", entryName, archiveFile);
+            return;
+        }
+        try {
+            zipOut.putNextEntry(new ZipEntry(entryName));
+            zipOut.write(content);
+            zipOut.closeEntry();
+            manifest.getEntries().add(manifestEntry);
+        } catch (IOException e) {
+            log.error("Cannot write entry {} in archive {}", entryName, archiveFile, e);
+            ExportException.throwException("Cannot write entry {} in archive {}", entryName, archiveFile, e);
+        }
+    }
+
+    /**
+     * Write the manifest of written entities, finish and close the archive.
+     *
+     * @throws ExportException the export exception
+     */
+    @Override
+    public synchronized void close() throws ExportException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            zipOut.putNextEntry(new ZipEntry(Constant.ARCHIVE_MANIFEST_FILE_NAME));
+            zipOut.write(MANIFEST_WRITER.writeValueAsBytes(manifest));
+            zipOut.closeEntry();
+            zipOut.close();
+        } catch (IOException e) {
+            log.error("Cannot close archive {}", archiveFile, e);
+            ExportException.throwException("Cannot close archive {}", archiveFile, e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.qubership.atp.ei.node.dto.CancellationToken;
+import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind writer of ATP entities, created by {@link ObjectSaverToDiskService#createAsyncWriter()}.
+ * Entities are serialized and written by a pool of writer threads, so an exporter can fetch the next entities
+ * while the previous ones are written. When the queue is full the calling thread writes the entity itself.
+ * Entities must not be modified after they are passed to the writer.
+ * {@link #flush()} (or {@link #close()}) has to be called before the export folder is used.
+ * Once the task which created the writer is cancelled, queued entities are dropped and new ones are rejected.
+ */
+@Slf4j
+public class AsyncEntityWriter implements AutoCloseable {
+
+    private final ObjectWriter writer;
+    private final CancellationToken cancellationToken = CancellationToken.current();
+    private final ThreadPoolExecutor executor;
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Exception> firstError = new AtomicReference<>();
+    private final Object pendingLock = new Object();
+    private long pending;
+
+    AsyncEntityWriter(ObjectWriter writer, int writerThreads, int queueCapacity) {
+        Assert.isTrue(writerThreads > 0, "Number of writer threads should be positive");
+        Assert.isTrue(queueCapacity > 0, "Queue capacity should be positive");
+        this.writer = writer;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("atp-ei-entity-writer-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, AsyncEntityWriter::runOnCaller);
+    }
+
+    public void exportAtpEntity(UUID id, Object object, Path dir) throws ExportException {
+        exportAtpEntity(id, object, null, dir);
+    }
+
+    /**
+     * Queue atp entity to be written in {@code dir/<class name>/<parent id>/<id>.json}.
+     *
+     * @param id       the id
+     * @param object   the object
+     * @param parentId the parent id
+     * @param dir      the dir
+     * @throws ExportException if one of the previous entities could not be written
+     */
+    public void exportAtpEntity(UUID id, Object object, UUID parentId, Path dir) throws ExportException {
+        Assert.notNull(id, "Id cannot be null");
+        Assert.notNull(object, "Object cannot be null");
+        Path entityDir = dir.resolve(object.getClass().getSimpleName());
+        if (parentId != null) {
+            entityDir = entityDir.resolve(parentId.toString());
+        }
+        submit(entityDir, entityDir.resolve(id + ".json"), object);
+    }
+
+    private void submit(Path entityDir, Path file, Object object) throws ExportException {
+        cancellationToken.throwIfCancelled();
+        throwIfFailed();
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        synchronized (pendingLock) {
+            pending++;
+        }
+        try {
+            executor.execute(() -> {
+                Map<String, String> previousMdcContext = MDC.getCopyOfContextMap();
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
+                try {
+                    write(entityDir, file, object);
+                } finally {
+                    if (previousMdcContext == null) {
+                        MDC.clear();
+                    } else {
+                        MDC.setContextMap(previousMdcContext);
+                    }
+                    completed();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            completed();
+            throw new ExportException("Writer is closed, cannot write file " + file, e);
+        }
+    }
+
+    private static void runOnCaller(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Writer is closed");
+        }
+        task.run();
+    }
+
+    private void write(Path entityDir, Path file, Object object) {
+        if (firstError.get() != null || cancellationToken.isCancelled()) {
+            return;
+        }
+        try {
+            if (!createdDirectories.contains(entityDir)) {
+                Files.createDirectories(entityDir);
+                createdDirectories.add(entityDir);
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                writer.writeValue(out, object);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Cannot write object in file {}", file, e);
+            firstError.compareAndSet(null, e);
+        }
+    }
+
+    private void completed() {
+        synchronized (pendingLock) {
+            pending--;
+            if (pending == 0) {
+                pendingLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait until all queued entities are written.
+     *
+     * @throws ExportException if one of the entities could not be written
+     */
+    public void flush() throws ExportException {
+        synchronized (pendingLock) {
+            while (pending > 0) {
+                try {
+                    pendingLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ExportException("Interrupted while waiting for entities to be written", e);
+                }
+            }
+        }
+        cancellationToken.throwIfCancelled();
+        throwIfFailed();
+    }
+
+    private void throwIfFailed() throws ExportException {
+        Exception error = firstError.get();
+        if (error != null) {
+            throw new ExportException("Cannot write entities: " + error.getMessage(), error);
+        }
+    }
+
+    /**
+     * Flush queued entities and stop writer threads.
+     *
+     * @throws ExportException if one of the entities could not be written
+     */
+    @Override
+    public void close() throws ExportException {
+        try {
+            flush();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
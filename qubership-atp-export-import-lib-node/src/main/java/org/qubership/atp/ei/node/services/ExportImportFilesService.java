@@ -16,29 +16,59 @@
 
 package org.qubership.atp.ei.node.services;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.bson.types.ObjectId;
+import org.qubership.atp.ei.node.dto.ArchiveStatistics;
+import org.qubership.atp.ei.node.dto.CancellationToken;
 import org.qubership.atp.ei.node.dto.ExportFileDescriptor;
+import org.qubership.atp.ei.node.dto.TaskPhase;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.qubership.atp.ei.node.dto.ThreadBinding;
 import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.qubership.atp.ei.node.jfr.GridFsTransferEvent;
 import org.qubership.atp.ei.node.repo.GridFsRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StreamUtils;
 
+import com.google.common.io.CountingInputStream;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
 public class ExportImportFilesService {
 
+    private static final int PIPE_BUFFER_SIZE = 1024 * 1024;
+
     private final GridFsRepository gridFsRepository;
     private final FileService fileService;
+    private final ExecutorService archiveWriterPool =
+            Executors.newCachedThreadPool(new CustomizableThreadFactory("atp-ei-archive-writer-"));
+
+    @Value("${atp.ei.export.streaming.enabled:false}")
+    private boolean streamingExportEnabled;
+
+    @Value("${atp.ei.import.streaming.enabled:false}")
+    private boolean streamingImportEnabled;
 
     public ExportImportFilesService(GridFsRepository gridFsRepository, FileService fileService) {
         this.gridFsRepository = gridFsRepository;
@@ -54,30 +84,186 @@ public class ExportImportFilesService {
      * @throws IOException the io exception
      */
     public String storeInGridFs(Path dir, String processId) throws IOException {
-        return gridFsRepository.store(Files.newInputStream(dir), dir.getFileName().toString(),
-                "application/zip", processId
-        ).toString();
+        GridFsTransferEvent event = new GridFsTransferEvent(GridFsTransferEvent.STORE, dir.getFileName().toString());
+        try (InputStream in = Files.newInputStream(dir)) {
+            return gridFsRepository.store(in, dir.getFileName().toString(), "application/zip", processId).toString();
+        } finally {
+            event.commitForCurrentTask(dir.toFile().length(), 0);
+        }
+    }
+
+    /**
+     * Pack the directory and store it in GridFS in one pass.
+     * The archive is written into a pipe by a separate thread while GridFS reads from the other end,
+     * so no zip file is created on disk and the upload runs concurrently with compression.
+     *
+     * @param dir       the dir to pack
+     * @param processId the process id
+     * @return the id of the stored file
+     * @throws IOException the io exception
+     */
+    public String packAndStoreInGridFs(Path dir, String processId) throws IOException {
+        return packAndStoreInGridFs(dir, processId, new ArchiveStatistics());
+    }
+
+    /**
+     * Pack the directory and store it in GridFS in one pass, collecting statistics of the archive.
+     *
+     * @param dir        the dir to pack
+     * @param processId  the process id
+     * @param statistics the statistics to fill
+     * @return the id of the stored file
+     * @throws IOException the io exception
+     */
+    public String packAndStoreInGridFs(Path dir, String processId, ArchiveStatistics statistics)
+            throws IOException {
+        String archiveName = dir.getFileName().toString() + ".zip";
+        AtomicReference<Exception> packError = new AtomicReference<>();
+        PipedInputStream pipeIn = new PipedInputStream(PIPE_BUFFER_SIZE);
+        PipedOutputStream pipeOut = new PipedOutputStream(pipeIn);
+        CancellationToken cancellationToken = CancellationToken.current();
+        TaskProgress progress = TaskProgress.current();
+        Future<?> packing = archiveWriterPool.submit(() -> {
+            try (ThreadBinding cancellationBinding = cancellationToken.bind();
+                 ThreadBinding progressBinding = progress == null ? () -> { } : progress.bind()) {
+                fileService.packDirectory(dir, pipeOut, statistics);
+            } catch (Exception e) {
+                packError.set(e);
+            } finally {
+                closeQuietly(pipeOut);
+            }
+        });
+
+        String fileId;
+        GridFsTransferEvent event = new GridFsTransferEvent(GridFsTransferEvent.STORE, archiveName);
+        long entriesBefore = statistics.getEntryCount();
+        CountingInputStream in = new CountingInputStream(new PackedArchiveInputStream(pipeIn, packError));
+        try (in) {
+            fileId = gridFsRepository.store(in, archiveName, "application/zip", processId).toString();
+        } catch (RuntimeException | IOException e) {
+            packing.cancel(true);
+            log.error("Failed to stream archive of dir {} into GridFS", dir, e);
+            throw e;
+        } finally {
+            event.commitForCurrentTask(in.getCount(), statistics.getEntryCount() - entriesBefore);
+        }
+        try {
+            packing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExportException("Interrupted while packing dir " + dir, e);
+        } catch (ExecutionException e) {
+            throw new ExportException("Cannot zip dir " + dir, e.getCause());
+        }
+        if (packError.get() instanceof CancellationException cancellationException) {
+            throw cancellationException;
+        }
+        if (packError.get() != null) {
+            throw new ExportException("Cannot zip dir " + dir, packError.get());
+        }
+        return fileId;
+    }
+
+    public boolean isStreamingExportEnabled() {
+        return streamingExportEnabled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        archiveWriterPool.shutdownNow();
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.debug("Cannot close archive pipe", e);
+        }
     }
 
     /**
      * Download file in dir path.
+     * Chunks of the file are read concurrently when parallel download is enabled in {@link GridFsRepository}.
      *
      * @param fileDescriptor the file descriptor
      * @param defaultWorkDir the default work dir
      * @return the path
      */
     public Path downloadFileInDir(ExportFileDescriptor fileDescriptor, Path defaultWorkDir) {
+        GridFsTransferEvent event = new GridFsTransferEvent(GridFsTransferEvent.DOWNLOAD, fileDescriptor.getFileId());
+        if (gridFsRepository.isParallelDownloadEnabled()) {
+            Path archive = createExportFile(defaultWorkDir, UUID.randomUUID().toString());
+            try {
+                gridFsRepository.download(new ObjectId(fileDescriptor.getFileId()), archive);
+            } catch (IOException e) {
+                log.error("Failed to load file {} from DB", fileDescriptor, e);
+                throw new ExportException("Failed to load file from DB", e);
+            } finally {
+                event.commitForCurrentTask(archive.toFile().length(), 0);
+            }
+            return archive;
+        }
         InputStreamResource resource = getResourceById(fileDescriptor.getFileId());
         Path archive = createExportFile(defaultWorkDir, UUID.randomUUID().toString());
-        try (OutputStream os = Files.newOutputStream(archive, StandardOpenOption.APPEND)) {
-            StreamUtils.copy(resource.getInputStream(), os);
+        try (InputStream in = resource.getInputStream();
+             OutputStream os = Files.newOutputStream(archive, StandardOpenOption.APPEND)) {
+            StreamUtils.copy(in, os);
         } catch (IOException e) {
             log.error("Failed to load file {} from DB", fileDescriptor, e);
             throw new ExportException("Failed to load file from DB", e);
+        } finally {
+            event.commitForCurrentTask(archive.toFile().length(), 0);
         }
         return archive;
     }
 
+    /**
+     * Download the archive from GridFS and unpack it into the dir.
+     * In streaming mode the GridFS stream is unzipped while it is read, so the archive
+     * and the extracted tree never exist on disk at the same time.
+     *
+     * @param fileDescriptor the file descriptor
+     * @param dir            the dir to unpack into
+     * @return the path
+     */
+    public Path downloadAndUnpack(ExportFileDescriptor fileDescriptor, Path dir) {
+        return downloadAndUnpack(fileDescriptor, dir, new TaskProgress(null));
+    }
+
+    /**
+     * Download the archive from GridFS and unpack it into the dir, reporting phases and downloaded bytes.
+     *
+     * @param fileDescriptor the file descriptor
+     * @param dir            the dir to unpack into
+     * @param progress       the progress of the task
+     * @return the path
+     */
+    public Path downloadAndUnpack(ExportFileDescriptor fileDescriptor, Path dir, TaskProgress progress) {
+        progress.setPhase(TaskPhase.DOWNLOADING);
+        if (!streamingImportEnabled) {
+            Path archive = downloadFileInDir(fileDescriptor, dir);
+            progress.addBytesProcessed(archive.toFile().length());
+            progress.setPhase(TaskPhase.UNPACKING);
+            fileService.unpackZipFile(archive, dir);
+            fileService.deletePath(archive);
+            return dir;
+        }
+        GridFsTransferEvent event = new GridFsTransferEvent(GridFsTransferEvent.DOWNLOAD, fileDescriptor.getFileId());
+        InputStreamResource resource = getResourceById(fileDescriptor.getFileId());
+        try (CountingInputStream in = new CountingInputStream(resource.getInputStream())) {
+            try {
+                fileService.unpackZipStream(in, dir);
+            } finally {
+                progress.addBytesProcessed(in.getCount());
+                event.commitForCurrentTask(in.getCount(), 0);
+            }
+        } catch (IOException e) {
+            log.error("Failed to load file {} from DB", fileDescriptor, e);
+            throw new ExportException("Failed to load file from DB", e);
+        }
+        return dir;
+    }
+
     public InputStreamResource getResourceById(String objectId) {
         return gridFsRepository.getResourceById(new ObjectId(objectId));
     }
@@ -88,4 +274,35 @@ public class ExportImportFilesService {
         fileService.createFile(archive);
         return archive;
     }
-}
\ No newline at end of file
+
+    /**
+     * Turns the end of the pipe into an error when the packing thread failed,
+     * so a truncated archive is never stored as a complete file.
+     */
+    private static class PackedArchiveInputStream extends FilterInputStream {
+
+        private final AtomicReference<Exception> packError;
+
+        PackedArchiveInputStream(InputStream in, AtomicReference<Exception> packError) {
+            super(in);
+            this.packError = packError;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return checkEnd(super.read());
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return checkEnd(super.read(b, off, len));
+        }
+
+        private int checkEnd(int result) throws IOException {
+            if (result < 0 && packError.get() != null) {
+                throw new IOException("Archive packing failed", packError.get());
+            }
+            return result;
+        }
+    }
+}
@@ -22,33 +22,89 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import org.qubership.atp.ei.node.config.ExportImportNodeConfig;
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ArchiveManifest;
+import org.qubership.atp.ei.node.dto.ArchiveStatistics;
+import org.qubership.atp.ei.node.dto.CancellationToken;
+import org.qubership.atp.ei.node.dto.ManifestEntry;
 import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.qubership.atp.ei.node.jfr.FileOperationEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.FileSystemUtils;
 import org.springframework.util.StreamUtils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.io.CountingInputStream;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 public class FileService {
     private static final String ATTRIBUTE_LAST_MOD_NAME = "lastModifiedTime";
+    private static final int UNPACK_BUFFER_SIZE = 64 * 1024;
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of("zip", "jar", "war", "gz", "tgz", "bz2",
+            "xz", "zst", "7z", "rar", "png", "jpg", "jpeg", "gif", "webp", "mp3", "mp4");
+
+    private static final long DEFAULT_ARCHIVE_BUFFER_BYTES = 64L * 1024 * 1024;
+    private static final ObjectWriter MANIFEST_WRITER = new ObjectMapper().writer();
+
+    private final int archiveParallelism;
+    private final ParallelZipWriter.BufferBudget archiveBufferBudget;
+    private ExecutorService archiveExecutor;
+
+    public FileService() {
+        this(0);
+    }
+
+    public FileService(int archiveParallelism) {
+        this(archiveParallelism, DEFAULT_ARCHIVE_BUFFER_BYTES);
+    }
+
+    /**
+     * Instantiates a new File service.
+     *
+     * @param archiveParallelism  number of threads used to compress and extract archive entries,
+     *                            0 or 1 packs and unpacks archives sequentially on the calling thread
+     * @param archiveBufferBytes  max bytes of entries all parallel packings of the node hold in memory together
+     */
+    @Autowired
+    public FileService(@Value("${atp.ei.archive.parallelism:0}") int archiveParallelism,
+                       @Value("${atp.ei.archive.maxBufferedBytes:67108864}") long archiveBufferBytes) {
+        this.archiveParallelism = archiveParallelism;
+        this.archiveBufferBudget = new ParallelZipWriter.BufferBudget(archiveBufferBytes);
+    }
 
     /**
      * Delete path.
@@ -61,10 +117,16 @@ public class FileService {
             return;
         }
         log.debug("delete path {}", dir);
+        FileOperationEvent event = new FileOperationEvent(FileOperationEvent.DELETE, dir);
+        DeletingVisitor visitor = new DeletingVisitor();
         try {
-            FileSystemUtils.deleteRecursively(dir);
+            if (Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+                Files.walkFileTree(dir, visitor);
+            }
         } catch (IOException e) {
             log.error("Cannot delete dir {} ", dir, e);
+        } finally {
+            event.commitForCurrentTask(visitor.deletedBytes, visitor.deletedEntries);
         }
     }
 
@@ -173,20 +235,131 @@ public class FileService {
      * @throws ExportException the export exception
      */
     public Path packDirectory(Path dirToZip) throws ExportException {
-        Assert.notNull(dirToZip, "Argument dirToZip is null");
-        log.debug("pack dir {}", dirToZip);
-        Path parentDir = dirToZip.getParent();
-        String archiveFileName = dirToZip.getFileName().toString();
+        return packDirectory(dirToZip, new ArchiveStatistics());
+    }
 
-        Path archiveFile = Path.of(parentDir.toAbsolutePath().toString(), archiveFileName + ".zip");
+    /**
+     * Pack directory path.
+     *
+     * @param dirToZip   the dir to zip
+     * @param statistics the statistics to fill
+     * @return the path
+     * @throws ExportException the export exception
+     */
+    public Path packDirectory(Path dirToZip, ArchiveStatistics statistics) throws ExportException {
+        return packDirectory(dirToZip, statistics, null);
+    }
+
+    /**
+     * Pack directory path and write the manifest of its entity files as the last entry
+     * {@link Constant#ARCHIVE_MANIFEST_FILE_NAME} of the archive.
+     * Sizes and checksums of the manifest are taken while packing, the files are not read once more.
+     *
+     * @param dirToZip the dir to zip
+     * @param manifest the manifest to fill with entity files of the dir
+     * @return the path
+     * @throws ExportException the export exception
+     */
+    public Path packDirectory(Path dirToZip, ArchiveManifest manifest) throws ExportException {
+        Assert.notNull(manifest, "Argument manifest is null");
+        return packDirectory(dirToZip, new ArchiveStatistics(), manifest);
+    }
+
+    private Path packDirectory(Path dirToZip, ArchiveStatistics statistics, ArchiveManifest manifest)
+            throws ExportException {
+        Assert.notNull(dirToZip, "Argument dirToZip is null");
+        Path archiveFile = getArchivePath(dirToZip);
         deletePath(archiveFile);
 
-        try (OutputStream fos = Files.newOutputStream(archiveFile);
-             ZipOutputStream zipOut = new ZipOutputStream(fos)) {
+        try (OutputStream fos = Files.newOutputStream(archiveFile)) {
+            packDirectory(dirToZip, fos, statistics, manifest);
+        } catch (IOException e) {
+            log.error("Cannot zip dir {}", dirToZip, e);
+            ExportException.throwException("Cannot zip dir {}", dirToZip, e);
+        }
+
+        return archiveFile;
+    }
 
+    /**
+     * Get path of the archive {@link #packDirectory(Path)} builds from the dir, {@code <dir>.zip} next to the dir.
+     *
+     * @param dir the dir
+     * @return the path of the archive
+     */
+    public Path getArchivePath(Path dir) {
+        Assert.notNull(dir, "Argument dir is null");
+        return dir.toAbsolutePath().resolveSibling(dir.getFileName() + ".zip");
+    }
+
+    /**
+     * Collect statistics of an already built archive.
+     *
+     * @param archive    the archive
+     * @param statistics the statistics to fill
+     * @throws ExportException the export exception
+     */
+    public void collectArchiveStatistics(Path archive, ArchiveStatistics statistics) throws ExportException {
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            zipFile.stream().filter(entry -> !entry.isDirectory()).forEach(entry -> statistics.addEntry(
+                    entry.getSize(), entry.getCompressedSize(), entry.getMethod() == ZipEntry.STORED));
+        } catch (IOException e) {
+            log.error("Cannot read archive {}", archive, e);
+            ExportException.throwException("Cannot read archive {}", archive, e);
+        }
+    }
+
+    /**
+     * Pack directory into the output stream.
+     * The stream is finished as a complete zip archive but not closed, so the caller can stream
+     * the archive to any destination (file, GridFS pipe) without storing it on disk first.
+     *
+     * @param dirToZip the dir to zip
+     * @param out      the output stream
+     * @throws ExportException the export exception
+     */
+    public void packDirectory(Path dirToZip, OutputStream out) throws ExportException {
+        packDirectory(dirToZip, out, new ArchiveStatistics());
+    }
+
+    /**
+     * Pack directory into the output stream.
+     * Files which are already compressed (nested archives, images) are written with
+     * {@link ZipEntry#STORED} method instead of being deflated a second time.
+     * Packing stops with {@link java.util.concurrent.CancellationException} once the task of the current thread
+     * is cancelled, see {@link CancellationToken#current()}.
+     *
+     * @param dirToZip   the dir to zip
+     * @param out        the output stream
+     * @param statistics the statistics to fill
+     * @throws ExportException the export exception
+     */
+    public void packDirectory(Path dirToZip, OutputStream out, ArchiveStatistics statistics)
+            throws ExportException {
+        packDirectory(dirToZip, out, statistics, null);
+    }
+
+    private void packDirectory(Path dirToZip, OutputStream out, ArchiveStatistics statistics,
+                               ArchiveManifest manifest) throws ExportException {
+        Assert.notNull(dirToZip, "Argument dirToZip is null");
+        Assert.notNull(out, "Argument out is null");
+        log.debug("pack dir {}", dirToZip);
+        CancellationToken cancellationToken = CancellationToken.current();
+        FileOperationEvent event = new FileOperationEvent(FileOperationEvent.PACK, dirToZip);
+        long entriesBefore = statistics.getEntryCount();
+        long bytesBefore = statistics.getArchivedBytes();
+        try {
+            if (archiveParallelism > 1) {
+                new ParallelZipWriter(getArchiveExecutor(), archiveBufferBudget, archiveParallelism,
+                        this::isAlreadyCompressed).write(dirToZip, out, statistics, manifest);
+                return;
+            }
+            ZipOutputStream zipOut = new ZipOutputStream(out);
+            byte[] buffer = new byte[UNPACK_BUFFER_SIZE];
             Files.walkFileTree(dirToZip, new SimpleFileVisitor<>() {
                 @Override
                 public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    cancellationToken.throwIfCancelled();
                     if (!dirToZip.equals(dir)) {
                         zipOut.putNextEntry(new ZipEntry(dirToZip.relativize(dir) + "/"));
                         zipOut.closeEntry();
@@ -197,19 +370,139 @@ public class FileService {
 
                 @Override
                 public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                    zipOut.putNextEntry(new ZipEntry(dirToZip.relativize(file).toString()));
-                    Files.copy(file, zipOut);
+                    cancellationToken.throwIfCancelled();
+                    ZipEntry entry = new ZipEntry(dirToZip.relativize(file).toString());
+                    boolean stored = isAlreadyCompressed(file);
+                    if (stored) {
+                        entry.setMethod(ZipEntry.STORED);
+                        entry.setSize(attrs.size());
+                        entry.setCompressedSize(attrs.size());
+                        entry.setCrc(checksum(file));
+                    }
+                    zipOut.putNextEntry(entry);
+                    try (InputStream in = Files.newInputStream(file)) {
+                        copy(in, zipOut, buffer, cancellationToken);
+                    }
                     zipOut.closeEntry();
+                    statistics.addEntry(entry.getSize(), entry.getCompressedSize(), stored);
+                    if (manifest != null) {
+                        addManifestEntry(manifest, entry.getName(), entry.getSize(), entry.getCrc());
+                    }
                     return FileVisitResult.CONTINUE;
                 }
             });
-
+            if (manifest != null) {
+                ZipEntry entry = new ZipEntry(Constant.ARCHIVE_MANIFEST_FILE_NAME);
+                zipOut.putNextEntry(entry);
+                zipOut.write(toBytes(manifest));
+                zipOut.closeEntry();
+                statistics.addEntry(entry.getSize(), entry.getCompressedSize(), false);
+            }
+            zipOut.finish();
         } catch (IOException e) {
             log.error("Cannot zip dir {}", dirToZip, e);
             ExportException.throwException("Cannot zip dir {}", dirToZip, e);
+        } finally {
+            event.commitForCurrentTask(statistics.getArchivedBytes() - bytesBefore,
+                    statistics.getEntryCount() - entriesBefore);
         }
+    }
 
-        return archiveFile;
+    /**
+     * Check that the file content is already compressed, so deflating it again gains nothing.
+     *
+     * @param file the file
+     * @return true if the file has an extension of compressed format
+     */
+    public boolean isAlreadyCompressed(Path file) {
+        String fileName = file.getFileName().toString();
+        int extensionStart = fileName.lastIndexOf('.');
+        return extensionStart >= 0
+                && COMPRESSED_EXTENSIONS.contains(fileName.substring(extensionStart + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Build manifest of entity files {@code <class name>/[<parent id>/]<id>.json} of the export folder.
+     * Files which are not named by UUID are not listed.
+     *
+     * @param dataDir the export folder
+     * @return the archive manifest
+     * @throws ExportException the export exception
+     */
+    public ArchiveManifest buildManifest(Path dataDir) throws ExportException {
+        Assert.notNull(dataDir, "Argument dataDir is null");
+        ArchiveManifest manifest = new ArchiveManifest();
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            List<Path> entityFiles = files.filter(Files::isRegularFile).sorted().toList();
+            for (Path file : entityFiles) {
+                addManifestEntry(manifest, dataDir.relativize(file).toString(), Files.size(file), checksum(file));
+            }
+        } catch (IOException e) {
+            log.error("Cannot build manifest of dir {}", dataDir, e);
+            ExportException.throwException("Cannot build manifest of dir {}", dataDir, e);
+        }
+        return manifest;
+    }
+
+    /**
+     * Add the file to the manifest if it is an entity file {@code <class name>/[<parent id>/]<id>.json}.
+     *
+     * @param manifest the manifest
+     * @param name     path of the file relative to the packed dir
+     * @param size     size of the file
+     * @param crc      CRC32 of the file content
+     */
+    static void addManifestEntry(ArchiveManifest manifest, String name, long size, long crc) {
+        Path relative = Path.of(name);
+        UUID id = ObjectFolderIndex.parseId(relative);
+        if (relative.getNameCount() < 2 || id == null) {
+            return;
+        }
+        UUID parentId = relative.getNameCount() > 2
+                ? ObjectFolderIndex.parseId(relative.getName(relative.getNameCount() - 2))
+                : null;
+        manifest.getEntries().add(new ManifestEntry(relative.getName(0).toString(), id, parentId,
+                name.replace('\\', '/'), size, Long.toHexString(crc)));
+    }
+
+    static byte[] toBytes(ArchiveManifest manifest) throws IOException {
+        return MANIFEST_WRITER.writeValueAsBytes(manifest);
+    }
+
+    private static void copy(InputStream in, OutputStream out, byte[] buffer, CancellationToken cancellationToken)
+            throws IOException {
+        int len;
+        while ((len = in.read(buffer)) > 0) {
+            cancellationToken.throwIfCancelled();
+            out.write(buffer, 0, len);
+        }
+    }
+
+    private static long checksum(Path file) throws IOException {
+        try (CheckedInputStream in = new CheckedInputStream(Files.newInputStream(file), new CRC32())) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return in.getChecksum().getValue();
+        }
+    }
+
+    private synchronized ExecutorService getArchiveExecutor() {
+        if (archiveExecutor == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("atp-ei-archive-");
+            threadFactory.setDaemon(true);
+            archiveExecutor = Executors.newFixedThreadPool(archiveParallelism, threadFactory);
+        }
+        return archiveExecutor;
+    }
+
+    /**
+     * Shutdown archive worker threads.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (archiveExecutor != null) {
+            archiveExecutor.shutdownNow();
+            archiveExecutor = null;
+        }
     }
 
     /**
@@ -241,35 +534,102 @@ public class FileService {
         Assert.notNull(zipFile, "Argument zipFile is null");
         Assert.notNull(dest, "Argument dest is null");
         log.debug("unpack zip {} in {}", zipFile, dest);
-        if (!Files.exists(dest)) {
-            createDirectory(dest);
-        }
-        byte[] buffer = new byte[1024];
-        try (InputStream in = Files.newInputStream(zipFile); ZipInputStream zis = new ZipInputStream(in)) {
-            ZipEntry zipEntry = zis.getNextEntry();
-            while (zipEntry != null) {
-                Path newFile = dest.resolve(zipEntry.getName());
-                if (zipEntry.isDirectory()) {
-                    createDirectory(newFile);
-                } else {
-                    createDirectory(newFile.getParent());
-                    createFile(newFile);
-                    try (OutputStream fos = Files.newOutputStream(newFile)) {
-                        int len;
-                        while ((len = zis.read(buffer)) > 0) {
-                            fos.write(buffer, 0, len);
-                        }
-                    }
+        FileOperationEvent event = new FileOperationEvent(FileOperationEvent.UNPACK, zipFile);
+        long entries = 0;
+        try {
+            if (archiveParallelism > 1) {
+                entries = new ParallelZipExtractor(getArchiveExecutor()).extract(zipFile, dest);
+            } else {
+                createDirectory(dest);
+                try (InputStream in = Files.newInputStream(zipFile)) {
+                    entries = extractZipStream(in, dest);
                 }
-                zipEntry = zis.getNextEntry();
             }
         } catch (IOException e) {
             log.error("Cannot unzip archive {} in dir {}", zipFile, dest, e);
             ExportException.throwException("Cannot unzip archive {} in dir {}", zipFile, dest, e);
+        } finally {
+            event.commitForCurrentTask(zipFile.toFile().length(), entries);
         }
         return dest;
     }
 
+    /**
+     * Mount zip file as a read-only file system, so its entries are read in place without extraction.
+     * The file system has to be closed by the caller.
+     *
+     * @param zipFile the zip file
+     * @return the file system, its root is the root of the archive
+     * @throws ExportException the export exception
+     */
+    public FileSystem openZipFileSystem(Path zipFile) throws ExportException {
+        Assert.notNull(zipFile, "Argument zipFile is null");
+        log.debug("mount zip {}", zipFile);
+        try {
+            return FileSystems.newFileSystem(zipFile, Map.of("accessMode", "readOnly"));
+        } catch (IOException e) {
+            log.error("Cannot open archive {}", zipFile, e);
+            ExportException.throwException("Cannot open archive {}", zipFile, e);
+        }
+        return null;
+    }
+
+    /**
+     * Unpack zip archive read from the input stream.
+     * Entries are extracted while the bytes arrive, so the archive itself never has to be stored on disk.
+     * The stream is not closed. Unpacking stops with {@link java.util.concurrent.CancellationException}
+     * once the task of the current thread is cancelled.
+     *
+     * @param in   the input stream with zip archive
+     * @param dest the dest
+     * @return the path
+     * @throws ExportException the export exception
+     */
+    public Path unpackZipStream(InputStream in, Path dest) throws ExportException {
+        Assert.notNull(in, "Argument in is null");
+        Assert.notNull(dest, "Argument dest is null");
+        if (!Files.exists(dest)) {
+            createDirectory(dest);
+        }
+        CountingInputStream countingIn = new CountingInputStream(in);
+        FileOperationEvent event = new FileOperationEvent(FileOperationEvent.UNPACK, dest);
+        long entries = 0;
+        try {
+            entries = extractZipStream(countingIn, dest);
+        } catch (IOException e) {
+            log.error("Cannot unzip archive stream in dir {}", dest, e);
+            ExportException.throwException("Cannot unzip archive stream in dir {}", dest, e);
+        } finally {
+            event.commitForCurrentTask(countingIn.getCount(), entries);
+        }
+        return dest;
+    }
+
+    private long extractZipStream(InputStream in, Path dest) throws IOException {
+        byte[] buffer = new byte[UNPACK_BUFFER_SIZE];
+        CancellationToken cancellationToken = CancellationToken.current();
+        long entries = 0;
+        Path root = dest.toAbsolutePath().normalize();
+        ZipInputStream zis = new ZipInputStream(in);
+        ZipEntry zipEntry = zis.getNextEntry();
+        while (zipEntry != null) {
+            cancellationToken.throwIfCancelled();
+            Path newFile = ParallelZipExtractor.resolve(root, zipEntry);
+            if (zipEntry.isDirectory()) {
+                createDirectory(newFile);
+            } else {
+                createDirectory(newFile.getParent());
+                createFile(newFile);
+                try (OutputStream fos = Files.newOutputStream(newFile)) {
+                    copy(zis, fos, buffer, cancellationToken);
+                }
+            }
+            entries++;
+            zipEntry = zis.getNextEntry();
+        }
+        return entries;
+    }
+
     /**
      * Get path to root folder for export or import.
      */
@@ -378,4 +738,31 @@ public class FileService {
         }
         return deletedPaths;
     }
+
+    /**
+     * Deletes a file tree bottom-up counting deleted entries, links are deleted, not followed.
+     */
+    private static final class DeletingVisitor extends SimpleFileVisitor<Path> {
+
+        private long deletedEntries;
+        private long deletedBytes;
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+            Files.delete(file);
+            deletedEntries++;
+            deletedBytes += attrs.size();
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+            if (exc != null) {
+                throw exc;
+            }
+            Files.delete(dir);
+            deletedEntries++;
+            return FileVisitResult.CONTINUE;
+        }
+    }
 }
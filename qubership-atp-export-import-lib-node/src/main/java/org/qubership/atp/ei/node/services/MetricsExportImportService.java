@@ -16,18 +16,22 @@
 
 package org.qubership.atp.ei.node.services;
 
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ArchiveStatistics;
+import org.qubership.atp.ei.node.dto.ExportFormat;
+import org.qubership.atp.ei.node.dto.TaskPhase;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.qubership.atp.ei.node.services.impl.TasksService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.google.common.base.Stopwatch;
-import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
-import lombok.NonNull;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -36,29 +40,68 @@ public class MetricsExportImportService {
 
     public static final String TOTAL_TIME_OF_EXPORT_PROCESSES = "total.time.export.processes";
     public static final String TOTAL_TIME_OF_IMPORT_PROCESSES = "total.time.import.processes";
+    public static final String TOTAL_TIME_OF_EXPORT_PACKING = "total.time.export.packing";
+    public static final String UNCOMPRESSED_BYTES_OF_EXPORT_ARCHIVES = "uncompressed.bytes.export.archives";
+    public static final String STORED_BYTES_OF_EXPORT_ARCHIVES = "stored.bytes.export.archives";
     public static final String ACTIVE_EXPORT_PROCESS_COUNT = "active.export.process.count";
     public static final String ACTIVE_IMPORT_PROCESS_COUNT = "active.import.process.count";
+    public static final String QUEUED_EXPORT_PROCESS_COUNT = "queued.export.process.count";
+    public static final String QUEUED_IMPORT_PROCESS_COUNT = "queued.import.process.count";
+    public static final String PHASE_TIME_OF_TASKS = "phase.time.tasks";
+    public static final String PROCESSED_BYTES_OF_TASKS = "processed.bytes.tasks";
+    public static final String PROCESSED_ENTITIES_OF_TASKS = "processed.entities.tasks";
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FAILURE = "failure";
+    public static final String OUTCOME_CANCELLED = "cancelled";
     private static final String PROJECT_ID = "projectId";
-    private static final String PROCESS_ID = "processId";
-    private Map<String, Meter.Id> activeThreadCountMap = new ConcurrentHashMap<>();
+    private static final String TYPE = "type";
+    private static final String PHASE = "phase";
+    private static final String FORMAT = "format";
+    private static final String OUTCOME = "outcome";
     private final MeterRegistry meterRegistry;
 
-    @Autowired
     public MetricsExportImportService(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
     }
 
     /**
-     * Register metric active process.
+     * Instantiates a new metrics service with gauges of queued and running tasks backed by the task registry.
+     *
+     * @param meterRegistry the meter registry
+     * @param tasksService  the registry of tasks
      */
-    public void registerProcess(@NonNull String projectId, String processId, String metricName) {
-        Counter counter = Counter.builder(metricName)
-                .tag(PROJECT_ID, projectId)
-                .tag(PROCESS_ID, processId)
+    @Autowired
+    public MetricsExportImportService(MeterRegistry meterRegistry, TasksService tasksService) {
+        this(meterRegistry);
+        registerTaskGauge(ACTIVE_EXPORT_PROCESS_COUNT, tasksService, Constant.EXPORT, true);
+        registerTaskGauge(ACTIVE_IMPORT_PROCESS_COUNT, tasksService, Constant.IMPORT, true);
+        registerTaskGauge(QUEUED_EXPORT_PROCESS_COUNT, tasksService, Constant.EXPORT, false);
+        registerTaskGauge(QUEUED_IMPORT_PROCESS_COUNT, tasksService, Constant.IMPORT, false);
+    }
+
+    private void registerTaskGauge(String metricName, TasksService tasksService, String type, boolean running) {
+        Gauge.builder(metricName, tasksService, tasks -> tasks.getTaskCount(type, running))
                 .register(meterRegistry);
-        counter.increment();
+    }
 
-        activeThreadCountMap.put(processId, counter.getId());
+    /**
+     * Register metric active process.
+     *
+     * @deprecated active processes are counted by the gauges backed by the task registry, does nothing.
+     */
+    @Deprecated
+    public void registerProcess(String projectId, String processId, String metricName) {
+        // kept for callers built against the previous release
+    }
+
+    /**
+     * UnRegister metric active process.
+     *
+     * @deprecated active processes are counted by the gauges backed by the task registry, does nothing.
+     */
+    @Deprecated
+    public void unregisterProcess(UUID processId) {
+        // kept for callers built against the previous release
     }
 
     /**
@@ -71,13 +114,50 @@ public class MetricsExportImportService {
     }
 
     /**
-     * UnRegister gauge atp_execution_requests_in_progress.
+     * Register metrics of packed export archives: packing time, total bytes and bytes copied
+     * without compression, so the CPU saved on already compressed entries is visible.
      */
-    public void unregisterProcess(UUID processId) {
-        Meter.Id id = activeThreadCountMap.get(processId.toString());
-        if (id != null) {
-            meterRegistry.remove(id);
-            activeThreadCountMap.remove(processId.toString());
+    public void addArchiveMetrics(UUID projectId, Stopwatch timer, ArchiveStatistics statistics) {
+        if (timer.isRunning()) {
+            timer.stop();
+        }
+        meterRegistry.timer(TOTAL_TIME_OF_EXPORT_PACKING, PROJECT_ID, projectId.toString())
+                .record(timer.elapsed());
+        meterRegistry.counter(UNCOMPRESSED_BYTES_OF_EXPORT_ARCHIVES, PROJECT_ID, projectId.toString())
+                .increment(statistics.getUncompressedBytes());
+        meterRegistry.counter(STORED_BYTES_OF_EXPORT_ARCHIVES, PROJECT_ID, projectId.toString())
+                .increment(statistics.getStoredBytes());
+    }
+
+    /**
+     * Register time, bytes and entities of every phase the finished task went through.
+     * Meters are tagged by task type, phase, project, format and outcome only, so their number
+     * does not grow with the number of processes.
+     *
+     * @param progress the progress of the finished task
+     * @param format   the format of the task, may be null
+     * @param outcome  one of {@link #OUTCOME_SUCCESS}, {@link #OUTCOME_FAILURE}, {@link #OUTCOME_CANCELLED}
+     */
+    public void addTaskMetrics(TaskProgress progress, ExportFormat format, String outcome) {
+        Tags tags = Tags.of(TYPE, String.valueOf(progress.getType()),
+                PROJECT_ID, String.valueOf(progress.getProjectId()),
+                FORMAT, format == null ? "none" : format.name(),
+                OUTCOME, outcome);
+        for (TaskPhase phase : TaskPhase.values()) {
+            long duration = progress.getPhaseDurationMs(phase);
+            if (duration > 0 || progress.getPhase() == phase) {
+                meterRegistry.timer(PHASE_TIME_OF_TASKS, tags.and(PHASE, phase.name()))
+                        .record(duration, TimeUnit.MILLISECONDS);
+            }
+            long bytes = progress.getPhaseBytes(phase);
+            if (bytes > 0) {
+                meterRegistry.counter(PROCESSED_BYTES_OF_TASKS, tags.and(PHASE, phase.name())).increment(bytes);
+            }
+            long entities = progress.getPhaseEntities(phase);
+            if (entities > 0) {
+                meterRegistry.counter(PROCESSED_ENTITIES_OF_TASKS, tags.and(PHASE, phase.name()))
+                        .increment(entities);
+            }
         }
     }
 }
@@ -0,0 +1,185 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snapshot of object files under one folder, built by a single walk of the tree.
+ * Files are keyed by the UUID in the file name (the part before the first dot).
+ * When several files have the same UUID, a lookup by id finds the first one in the walk order,
+ * while the list of files keeps the last one at the position of the first, as the plain walks did.
+ * Modification times of the walked directories are kept, so the snapshot can tell
+ * whether files were added or removed after it was built.
+ */
+@Slf4j
+final class ObjectFolderIndex {
+
+    static final int MAX_DEPTH = 10;
+    private static final int UUID_LENGTH = 36;
+
+    private final Path folder;
+    private final Map<UUID, Path> files;
+    private final List<IndexedFile> walkedFiles;
+    private final Map<Path, FileTime> directories;
+
+    private ObjectFolderIndex(Path folder, Map<UUID, Path> files, List<IndexedFile> walkedFiles,
+                              Map<Path, FileTime> directories) {
+        this.folder = folder;
+        this.files = files;
+        this.walkedFiles = walkedFiles;
+        this.directories = directories;
+    }
+
+    /**
+     * Walk the folder and index all object files in it.
+     *
+     * @param folder the folder
+     * @return the index, empty if the folder does not exist
+     */
+    static ObjectFolderIndex build(Path folder) {
+        Map<UUID, Path> files = new HashMap<>();
+        List<IndexedFile> walkedFiles = new ArrayList<>();
+        Map<Path, FileTime> directories = new HashMap<>();
+        try {
+            Files.walkFileTree(folder, EnumSet.noneOf(FileVisitOption.class), MAX_DEPTH, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    directories.put(dir, attrs.lastModifiedTime());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    UUID id = parseId(file);
+                    if (attrs.isRegularFile() && id != null) {
+                        files.putIfAbsent(id, file);
+                        walkedFiles.add(new IndexedFile(id, file, folder.relativize(file).getNameCount()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (NoSuchFileException e) {
+            log.debug("Folder {} does not exist", folder);
+        } catch (IOException e) {
+            log.error("Cannot read directory {}", folder, e);
+        }
+        return new ObjectFolderIndex(folder, files, walkedFiles, directories);
+    }
+
+    /**
+     * Parse object id from the file name.
+     *
+     * @param file the file
+     * @return the id or null if the file name does not start with UUID
+     */
+    static UUID parseId(Path file) {
+        String fileName = file.getFileName().toString();
+        int end = fileName.indexOf('.');
+        if (end < 0) {
+            end = fileName.length();
+        }
+        if (end != UUID_LENGTH) {
+            return null;
+        }
+        try {
+            return UUID.fromString(fileName.substring(0, end));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    Path get(UUID id) {
+        return files.get(id);
+    }
+
+    /**
+     * Files of the index in the walk order, of files with the same id the last one is kept.
+     *
+     * @param maxDepth max depth of file relative to the indexed folder
+     * @return Map of UUID, Path pairs.
+     */
+    Map<UUID, Path> getFiles(int maxDepth) {
+        Map<UUID, Path> result = new LinkedHashMap<>();
+        for (IndexedFile file : walkedFiles) {
+            if (file.depth() <= maxDepth) {
+                result.put(file.id(), file.path());
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    boolean exists() {
+        return !directories.isEmpty();
+    }
+
+    /**
+     * Check that the indexed folder itself was not removed or recreated.
+     */
+    boolean isFolderUnchanged() {
+        return Objects.equals(directories.get(folder), lastModifiedTime(folder));
+    }
+
+    /**
+     * Check that no file or directory was added or removed in any of the indexed directories.
+     */
+    boolean isTreeUnchanged() {
+        if (!exists()) {
+            return !Files.exists(folder);
+        }
+        for (Map.Entry<Path, FileTime> directory : directories.entrySet()) {
+            if (!directory.getValue().equals(lastModifiedTime(directory.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        return walkedFiles.size();
+    }
+
+    private static FileTime lastModifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private record IndexedFile(UUID id, Path path, int depth) {
+    }
+}
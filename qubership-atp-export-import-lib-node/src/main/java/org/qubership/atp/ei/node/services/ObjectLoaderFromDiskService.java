@@ -16,23 +16,43 @@
 
 package org.qubership.atp.ei.node.services;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ArchiveManifest;
+import org.qubership.atp.ei.node.dto.CancellationToken;
+import org.qubership.atp.ei.node.dto.ManifestEntry;
+import org.qubership.atp.ei.node.dto.ObjectLoadResult;
+import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.JsonParser;
@@ -45,21 +65,49 @@ import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
 import com.fasterxml.jackson.databind.deser.std.CollectionDeserializer;
 import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
 import com.fasterxml.jackson.databind.deser.std.UUIDDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 public class ObjectLoaderFromDiskService {
 
+    private static final int LIST_OF_OBJECTS_DEPTH = 5;
+    private static final long MAX_INDEXED_FILES = 2_000_000L;
+    private static final long MAX_REPLACEMENT_MAPPERS = 16L;
+    private static final int OBJECTS_PER_TASK = 32;
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    private static final byte[] SMILE_HEADER = {SmileConstants.HEADER_BYTE_1, SmileConstants.HEADER_BYTE_2,
+            SmileConstants.HEADER_BYTE_3};
+
     protected final ObjectMapper objectMapper;
+    private final SmileFactory smileFactory = new SmileFactory();
     private Map<Class, KeyDeserializer> additionalKeyDeserializer = Maps.newHashMap();
+    private ExecutorService loaderExecutor;
+    private final Cache<Path, ObjectFolderIndex> folderIndexes = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_INDEXED_FILES)
+            .weigher((Path folder, ObjectFolderIndex index) -> index.size() + 1)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+    // weak keys are compared by identity, mappers of a finished import go away together with its replacement map
+    private final Cache<Map<UUID, UUID>, Map<MapperVariant, ObjectMapperWithReplacementMap>> replacementMappers =
+            CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .maximumSize(MAX_REPLACEMENT_MAPPERS)
+                    .expireAfterAccess(10, TimeUnit.MINUTES)
+                    .build();
 
     private Map<Class, KeyDeserializer> getAdditionalKeyDeserializer() {
         return additionalKeyDeserializer;
@@ -67,6 +115,7 @@ public class ObjectLoaderFromDiskService {
 
     public void setAdditionalKeyDeserializer(Map<Class, KeyDeserializer> additionalKeyDeserializer) {
         this.additionalKeyDeserializer = additionalKeyDeserializer;
+        replacementMappers.invalidateAll();
     }
 
     /**
@@ -122,24 +171,49 @@ public class ObjectLoaderFromDiskService {
      */
     public Path findFileOnDisk(Path workDir, UUID id) {
         log.debug("start findFileOnDisk(workDir: {}, id: {})", workDir, id);
-        String fileName = id.toString();
-        Path res = null;
-        try (Stream<Path> result = Files.find(workDir, 10,
-                (path, basicFileAttributes) -> path.getFileName().toString().contains(fileName))) {
-            Optional<Path> file = result.findFirst();
-            if (file.isEmpty()) {
-                log.info("Cannot find file with id {}", fileName);
-            } else {
-                res = file.get();
-            }
-        } catch (IOException e) {
-            log.error("Cannot read directory {}", workDir, e);
+        ObjectFolderIndex index = getFolderIndex(workDir, false);
+        Path res = index.get(id);
+        if (res == null && !index.isTreeUnchanged()) {
+            res = rebuildFolderIndex(workDir).get(id);
+        }
+        if (res == null) {
+            log.info("Cannot find file with id {}", id);
         }
 
         log.debug("end findFileOnDisk(.., ..): {}", res);
         return res;
     }
 
+    /**
+     * Drop indexes of object files of the work dir and its sub folders.
+     * Indexes notice added files by themselves, the method only releases memory once the work dir is processed.
+     *
+     * @param workDir the work dir
+     */
+    public void invalidateFolderIndex(Path workDir) {
+        folderIndexes.asMap().keySet().removeIf(folder -> folder.startsWith(workDir));
+    }
+
+    private ObjectFolderIndex getFolderIndex(Path folder, boolean checkTree) {
+        ObjectFolderIndex index = folderIndexes.getIfPresent(folder);
+        if (index == null || !index.isFolderUnchanged() || checkTree && !index.isTreeUnchanged()) {
+            index = rebuildFolderIndex(folder);
+        }
+        return index;
+    }
+
+    private ObjectFolderIndex rebuildFolderIndex(Path folder) {
+        // indexes of mounted archives which are already closed cannot be used anymore
+        folderIndexes.asMap().keySet().removeIf(indexed -> !indexed.getFileSystem().isOpen());
+        ObjectFolderIndex index = ObjectFolderIndex.build(folder);
+        if (index.exists()) {
+            folderIndexes.put(folder, index);
+        } else {
+            folderIndexes.invalidate(folder);
+        }
+        return index;
+    }
+
     /**
      * Load file as object t.
      *
@@ -216,26 +290,36 @@ public class ObjectLoaderFromDiskService {
                                                     boolean throwException)
             throws Exception {
         log.debug("start loadFileAsObject(id: {}, clazz: {})", file, clazz);
+        CancellationToken.current().throwIfCancelled();
 
-        ObjectMapper localObjectMapper = objectMapper;
-        if (MapUtils.isNotEmpty(replacementMap)) {
-            localObjectMapper = new ObjectMapperWithReplacementMap(objectMapper, replacementMap, saveOriginalValue,
-                    checkStringForId, additionalKeyDeserializer);
-        }
+        ObjectReader reader = getObjectReader(clazz, replacementMap, saveOriginalValue, checkStringForId);
 
         T result = null;
-        try (InputStream in = Files.newInputStream(file)) {
-            result = localObjectMapper.readValue(in, clazz);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), READ_BUFFER_SIZE)) {
+            result = (isSmile(in) ? reader.with(smileFactory) : reader).readValue(in);
         } catch (Exception e) {
             log.error("Cannot read file {}. class {}", file, clazz, e);
             if (throwException) {
                 throw e;
             }
+        } finally {
+            // the reader holds the map weakly, it must stay reachable until the file is read
+            Reference.reachabilityFence(replacementMap);
         }
         log.debug("end (loadFileAsObject: {}, clazz: {})", file, clazz);
         return result;
     }
 
+    /**
+     * Check that the content starts with Smile header, the stream is reset to the start.
+     */
+    private static boolean isSmile(InputStream in) throws IOException {
+        in.mark(SMILE_HEADER.length);
+        byte[] header = in.readNBytes(SMILE_HEADER.length);
+        in.reset();
+        return Arrays.equals(SMILE_HEADER, header);
+    }
+
     /**
      * Load file as object with replacement map t.
      *
@@ -254,11 +338,162 @@ public class ObjectLoaderFromDiskService {
                 true);
     }
 
+    /**
+     * Load objects from files concurrently.
+     *
+     * @param <T>            the type parameter
+     * @param files          the files by object id
+     * @param clazz          the clazz
+     * @param replacementMap the replacement map
+     * @return load results by object id in the order of files, failed files are reported in the results
+     */
+    public <T> Map<UUID, ObjectLoadResult<T>> loadObjects(Map<UUID, Path> files, Class<T> clazz,
+                                                          Map<UUID, UUID> replacementMap) {
+        return loadObjects(files, clazz, replacementMap, false, false, getLoaderExecutor());
+    }
+
+    /**
+     * Load objects from files concurrently on the executor.
+     * Files are split into batches, so the number of files read at once is bounded by the executor threads.
+     *
+     * @param <T>               the type parameter
+     * @param files             the files by object id
+     * @param clazz             the clazz
+     * @param replacementMap    the replacement map
+     * @param saveOriginalValue the save original value
+     * @param checkStringForId  the check string for id
+     * @param executor          the executor
+     * @return load results by object id in the order of files, failed files are reported in the results
+     */
+    public <T> Map<UUID, ObjectLoadResult<T>> loadObjects(Map<UUID, Path> files, Class<T> clazz,
+                                                          Map<UUID, UUID> replacementMap,
+                                                          boolean saveOriginalValue, boolean checkStringForId,
+                                                          ExecutorService executor) {
+        log.debug("start loadObjects(files: {}, clazz: {})", files.size(), clazz);
+        List<Map.Entry<UUID, Path>> entries = new ArrayList<>(files.entrySet());
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        CancellationToken cancellationToken = CancellationToken.current();
+        List<Future<List<ObjectLoadResult<T>>>> tasks = new ArrayList<>();
+        Map<UUID, ObjectLoadResult<T>> result = new LinkedHashMap<>();
+        try {
+            for (int from = 0; from < entries.size(); from += OBJECTS_PER_TASK) {
+                List<Map.Entry<UUID, Path>> batch =
+                        entries.subList(from, Math.min(from + OBJECTS_PER_TASK, entries.size()));
+                tasks.add(executor.submit(() -> loadBatch(batch, clazz, replacementMap, saveOriginalValue,
+                        checkStringForId, mdcContext, cancellationToken)));
+            }
+            for (Future<List<ObjectLoadResult<T>>> task : tasks) {
+                cancellationToken.throwIfCancelled();
+                task.get().forEach(loaded -> result.put(loaded.getId(), loaded));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExportException("Interrupted while loading objects of " + clazz.getSimpleName(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException cancellationException) {
+                throw cancellationException;
+            }
+            throw new ExportException("Cannot load objects of " + clazz.getSimpleName(), e.getCause());
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+        log.debug("end loadObjects(files: {}, clazz: {})", files.size(), clazz);
+        return result;
+    }
+
+    private <T> List<ObjectLoadResult<T>> loadBatch(List<Map.Entry<UUID, Path>> batch, Class<T> clazz,
+                                                    Map<UUID, UUID> replacementMap, boolean saveOriginalValue,
+                                                    boolean checkStringForId, Map<String, String> mdcContext,
+                                                    CancellationToken cancellationToken) {
+        Map<String, String> previousMdcContext = MDC.getCopyOfContextMap();
+        if (mdcContext != null) {
+            MDC.setContextMap(mdcContext);
+        }
+        try {
+            List<ObjectLoadResult<T>> results = new ArrayList<>(batch.size());
+            for (Map.Entry<UUID, Path> file : batch) {
+                cancellationToken.throwIfCancelled();
+                try {
+                    T object = loadFileAsObjectWithReplacementMap(file.getValue(), clazz, replacementMap,
+                            saveOriginalValue, checkStringForId, true);
+                    results.add(new ObjectLoadResult<>(file.getKey(), file.getValue(), object, null));
+                } catch (Exception e) {
+                    results.add(new ObjectLoadResult<>(file.getKey(), file.getValue(), null, e));
+                }
+            }
+            return results;
+        } finally {
+            if (previousMdcContext == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(previousMdcContext);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getLoaderExecutor() {
+        if (loaderExecutor == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("atp-ei-object-loader-");
+            threadFactory.setDaemon(true);
+            loaderExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    threadFactory);
+        }
+        return loaderExecutor;
+    }
+
+    /**
+     * Shutdown object loader threads.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (loaderExecutor != null) {
+            loaderExecutor.shutdownNow();
+            loaderExecutor = null;
+        }
+    }
+
+    /**
+     * Gets reader of objects of the class which replaces ids by the replacement map.
+     * The replacement-aware mapper is built once per replacement map instance and flags and then reused,
+     * entries added to the map later are still applied because the map is read during deserialization.
+     * The mapper is dropped once the map is no longer referenced, so keep the map while the reader is in use.
+     * Configure {@link #getObjectMapper()} before objects are loaded, cached readers do not see later changes.
+     *
+     * @param clazz             the clazz
+     * @param replacementMap    the replacement map
+     * @param saveOriginalValue the save original value
+     * @param checkStringForId  the check string for id
+     * @return the object reader
+     */
+    public ObjectReader getObjectReader(Class<?> clazz, Map<UUID, UUID> replacementMap,
+                                        boolean saveOriginalValue, boolean checkStringForId) {
+        if (MapUtils.isEmpty(replacementMap)) {
+            return objectMapper.readerFor(clazz);
+        }
+        MapperVariant variant = new MapperVariant(saveOriginalValue, checkStringForId, additionalKeyDeserializer);
+        return replacementMappers.asMap()
+                .computeIfAbsent(replacementMap, map -> new ConcurrentHashMap<>())
+                .computeIfAbsent(variant, v -> new ObjectMapperWithReplacementMap(objectMapper, replacementMap,
+                        v.saveOriginalValue(), v.checkStringForId(), v.keyDeserializers()))
+                .getReader(clazz);
+    }
+
+    private record MapperVariant(boolean saveOriginalValue, boolean checkStringForId,
+                                 Map<Class, KeyDeserializer> keyDeserializers) {
+    }
+
+    /**
+     * Mapper which replaces ids by the replacement map. The map is held weakly, otherwise the cached mapper
+     * would keep its own weak cache key reachable and the map would never be collected.
+     */
     private static class ObjectMapperWithReplacementMap extends ObjectMapper {
+        private final transient Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
         public ObjectMapperWithReplacementMap(ObjectMapper src, Map<UUID, UUID> replacementMap,
                                               boolean saveOriginalValue, boolean checkStringForId,
                                               Map<Class, KeyDeserializer> additionalKeyDeserializer) {
             super(src);
+            WeakReference<Map<UUID, UUID>> replacementMapRef = new WeakReference<>(replacementMap);
             SimpleModule module = new SimpleModule() {
                 @Override
                 public void setupModule(SetupContext context) {
@@ -276,7 +511,11 @@ public class ObjectLoaderFromDiskService {
                 @Override
                 public UUID deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
                     UUID id = super.deserialize(p, ctxt);
-                    return replacementMap.getOrDefault(id, saveOriginalValue ? id : null);
+                    Map<UUID, UUID> map = replacementMapRef.get();
+                    if (map == null) {
+                        throw new IllegalStateException("Replacement map of the reader is no longer in use");
+                    }
+                    return map.getOrDefault(id, saveOriginalValue ? id : null);
                 }
             };
             module.addDeserializer(UUID.class, uuidDeserializer);
@@ -304,6 +543,10 @@ public class ObjectLoaderFromDiskService {
 
             registerModule(module);
         }
+
+        ObjectReader getReader(Class<?> clazz) {
+            return readers.computeIfAbsent(clazz, this::readerFor);
+        }
     }
 
     // thanks to https://stackoverflow.com/questions/33553553/
@@ -418,31 +661,96 @@ public class ObjectLoaderFromDiskService {
         } else {
             result.putAll(getListOfObjects(workDir, clazz));
         }
-        log.debug("end getListOfObjects(workDir: {}, clazz: {}, parentIds: {}) return {}", workDir, clazz, parentIds,
-                result);
+        log.debug("end getListOfObjects(workDir: {}, clazz: {}, parentIds: {}) return {} objects", workDir, clazz,
+                parentIds, result.size());
         return result;
     }
 
     private Map<UUID, Path> getListOfObjectIdByFolder(Path dirWithObjects) {
         log.debug("start getListOfObjectIdByFolder(dirWithObjects: {})", dirWithObjects);
-        Map<UUID, Path> res = new LinkedHashMap<>();
-        try (Stream<Path> result = Files.find(dirWithObjects, 5,
-                (path, basicFileAttributes) -> basicFileAttributes.isRegularFile())) {
-            result.forEach(pathToFile -> {
-                log.debug("Path to file: {}", pathToFile);
-                UUID objectId;
-                try {
-                    objectId = UUID.fromString(pathToFile.getFileName().toString().split("\\.")[0]);
-                } catch (IllegalArgumentException e) {
-                    log.warn("Can't get uuid from filename.", e);
-                    return;
-                }
-                res.put(objectId, pathToFile);
-            });
-        } catch (Exception e) {
+        Map<UUID, Path> res = new LinkedHashMap<>(getFolderIndex(dirWithObjects, true).getFiles(LIST_OF_OBJECTS_DEPTH));
+        log.debug("end getListOfObjectIdByFolder(): {} objects", res.size());
+        return res;
+    }
+
+    /**
+     * Load manifest of the archive unpacked in the work dir.
+     *
+     * @param workDir the work dir
+     * @return the manifest or null if the archive has no manifest
+     */
+    public ArchiveManifest loadManifest(Path workDir) {
+        Path manifestFile = workDir.resolve(Constant.ARCHIVE_MANIFEST_FILE_NAME);
+        if (!Files.exists(manifestFile)) {
+            log.debug("No manifest in {}", workDir);
+            return null;
+        }
+        return loadFileAsObject(manifestFile, ArchiveManifest.class);
+    }
+
+    /**
+     * Gets list of objects by class and parent id from the manifest without reading the file system.
+     *
+     * @param workDir  the work dir with the manifest
+     * @param manifest the manifest
+     * @param clazz    the clazz
+     * @param parentId the parent id, null for all objects of the class
+     * @return Map of UUID, Path pairs.
+     */
+    public Map<UUID, Path> getListOfObjects(Path workDir, ArchiveManifest manifest, Class clazz, UUID parentId) {
+        List<ManifestEntry> entries = parentId == null
+                ? manifest.findEntries(clazz.getSimpleName())
+                : manifest.findEntries(clazz.getSimpleName(), parentId);
+        Map<UUID, Path> result = new LinkedHashMap<>();
+        entries.forEach(entry -> result.put(entry.getId(), workDir.resolve(entry.getPath())));
+        return result;
+    }
+
+    /**
+     * Stream objects of the class, files are found and read lazily while the stream is consumed.
+     * Objects are not collected in memory, so the stream suits classes with a very large number of objects.
+     * The stream holds an open directory walk and has to be closed.
+     *
+     * @param <T>            the type parameter
+     * @param workDir        the work dir
+     * @param clazz          the clazz
+     * @param replacementMap the replacement map
+     * @return the stream of objects, files which cannot be read are skipped
+     */
+    public <T> Stream<T> streamObjects(Path workDir, Class<T> clazz, Map<UUID, UUID> replacementMap) {
+        return streamObjects(workDir, clazz, null, replacementMap);
+    }
+
+    /**
+     * Stream objects of the class with the parent id, files are found and read lazily while the stream is consumed.
+     * The stream holds an open directory walk and has to be closed.
+     *
+     * @param <T>            the type parameter
+     * @param workDir        the work dir
+     * @param clazz          the clazz
+     * @param parentId       the parent id
+     * @param replacementMap the replacement map
+     * @return the stream of objects, files which cannot be read are skipped
+     */
+    public <T> Stream<T> streamObjects(Path workDir, Class<T> clazz, UUID parentId,
+                                       Map<UUID, UUID> replacementMap) {
+        Path dirWithObjects = workDir.resolve(clazz.getSimpleName());
+        if (parentId != null) {
+            dirWithObjects = dirWithObjects.resolve(parentId.toString());
+        }
+        log.debug("start streamObjects(dirWithObjects: {}, clazz: {})", dirWithObjects, clazz);
+        Stream<Path> files;
+        try {
+            files = Files.find(dirWithObjects, LIST_OF_OBJECTS_DEPTH,
+                    (path, attributes) -> attributes.isRegularFile() && ObjectFolderIndex.parseId(path) != null);
+        } catch (NoSuchFileException e) {
+            return Stream.empty();
+        } catch (IOException e) {
             log.error("Cannot find dir {}", dirWithObjects, e);
+            return Stream.empty();
         }
-        log.debug("end getListOfObjectIdByFolder(): {}", res);
-        return res;
+        return files
+                .map(file -> loadFileAsObjectWithReplacementMap(file, clazz, replacementMap, false, false))
+                .filter(Objects::nonNull);
     }
 }
@@ -21,7 +21,10 @@ import java.nio.file.Path;
 import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
+import org.qubership.atp.ei.node.dto.CancellationToken;
+import org.qubership.atp.ei.node.dto.EntityEncoding;
 import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
@@ -29,6 +32,7 @@ import org.springframework.util.Assert;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,6 +41,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ObjectSaverToDiskService {
 
     private static final String regexInvalidCharInFileName = "[\\\\/:*?\"<>|]";
+    private static final int DEFAULT_WRITER_THREADS = 4;
+    private static final int DEFAULT_WRITER_QUEUE_CAPACITY = 1024;
 
     private final ObjectWriter writer;
     private final FileService fileService;
@@ -46,9 +52,24 @@ public class ObjectSaverToDiskService {
      *
      * @param fileService the file service
      */
+    public ObjectSaverToDiskService(FileService fileService, boolean isPrettyPrint) {
+        this(fileService, isPrettyPrint, EntityEncoding.JSON);
+    }
+
+    /**
+     * Instantiates a new Object saver to disk service.
+     *
+     * @param fileService    the file service
+     * @param isPrettyPrint  write indented json
+     * @param entityEncoding encoding of entity files, pretty print is ignored for binary encoding
+     */
+    @Autowired
     public ObjectSaverToDiskService(FileService fileService,
-                                    @Value("${atp.export.pretty-print:false}") boolean isPrettyPrint) {
-        if (isPrettyPrint) {
+                                    @Value("${atp.export.pretty-print:false}") boolean isPrettyPrint,
+                                    @Value("${atp.export.entity-encoding:JSON}") EntityEncoding entityEncoding) {
+        if (EntityEncoding.SMILE == entityEncoding) {
+            this.writer = new ObjectMapper(new SmileFactory()).writer();
+        } else if (isPrettyPrint) {
             this.writer = new ObjectMapper().writer(new DefaultPrettyPrinter());
         } else {
             this.writer = new ObjectMapper().writer();
@@ -56,6 +77,45 @@ public class ObjectSaverToDiskService {
         this.fileService = fileService;
     }
 
+    /**
+     * Create write-behind writer of entities with default number of writer threads and queue capacity.
+     * The writer should be closed before the export folder is packed.
+     *
+     * @return the async entity writer
+     */
+    public AsyncEntityWriter createAsyncWriter() {
+        return createAsyncWriter(Math.min(DEFAULT_WRITER_THREADS, Runtime.getRuntime().availableProcessors()),
+                DEFAULT_WRITER_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Create write-behind writer of entities.
+     *
+     * @param writerThreads number of threads which serialize and write entities
+     * @param queueCapacity number of entities which may wait for a writer thread
+     * @return the async entity writer
+     */
+    public AsyncEntityWriter createAsyncWriter(int writerThreads, int queueCapacity) {
+        return new AsyncEntityWriter(writer, writerThreads, queueCapacity);
+    }
+
+    /**
+     * Create writer of entities straight into {@code <dir>.zip} archive next to the dir.
+     * It is the archive {@link FileService#packDirectory(Path)} would build from the dir,
+     * so the export executor wrapper finds the export folder empty and uses the archive as is instead of packing
+     * the folder over it, both for the folder of ATP format and for the work dir of other formats.
+     * Entities of one export folder must be written either by this writer or as files, not both,
+     * otherwise the export fails.
+     *
+     * @param dir the export folder
+     * @return the archive entity writer
+     * @throws ExportException the export exception
+     */
+    public ArchiveEntityWriter createArchiveWriter(Path dir) throws ExportException {
+        Assert.notNull(dir, "Argument dir is null");
+        return new ArchiveEntityWriter(writer, fileService.getArchivePath(dir));
+    }
+
     public void exportAtpEntity(UUID id, Object object, Path dir) throws ExportException {
         exportAtpEntity(id, object, null, dir);
     }
@@ -120,6 +180,7 @@ public class ObjectSaverToDiskService {
                                      String parentName,
                                      @NotNull Path dir,
                                      boolean validateFileName) throws ExportException {
+        CancellationToken.current().throwIfCancelled();
         fileName = validateFileName ? fileName.replaceAll(regexInvalidCharInFileName, "") : fileName;
         Path filePath = dir;
         if (StringUtils.isNotBlank(parentName)) {
@@ -0,0 +1,150 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.qubership.atp.ei.node.dto.CancellationToken;
+
+/**
+ * Zip extractor which reads the central directory of the archive and inflates entries on a worker pool.
+ * All directories are created once before extraction, so workers only open and write files.
+ */
+class ParallelZipExtractor {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Number of entries extracted by one task, small files are grouped to keep the task overhead low.
+     */
+    private static final int ENTRIES_PER_TASK = 64;
+
+    private final ExecutorService executor;
+
+    ParallelZipExtractor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Extract archive into the destination directory.
+     *
+     * @param zipFile the zip file
+     * @param dest    the dest
+     * @return the number of extracted entries
+     * @throws IOException the io exception
+     */
+    int extract(Path zipFile, Path dest) throws IOException {
+        CancellationToken cancellationToken = CancellationToken.current();
+        Path root = dest.toAbsolutePath().normalize();
+        try (ZipFile archive = new ZipFile(zipFile.toFile())) {
+            TreeSet<Path> directories = new TreeSet<>();
+            List<ZipEntry> files = new ArrayList<>(archive.size());
+            Enumeration<? extends ZipEntry> entries = archive.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                Path target = resolve(root, entry);
+                if (entry.isDirectory()) {
+                    directories.add(target);
+                } else {
+                    directories.add(target.getParent());
+                    files.add(entry);
+                }
+            }
+            for (Path directory : directories) {
+                Files.createDirectories(directory);
+            }
+
+            List<Future<?>> tasks = new ArrayList<>();
+            try {
+                for (int from = 0; from < files.size(); from += ENTRIES_PER_TASK) {
+                    List<ZipEntry> batch = files.subList(from, Math.min(from + ENTRIES_PER_TASK, files.size()));
+                    tasks.add(executor.submit(() -> {
+                        extractBatch(archive, root, batch, cancellationToken);
+                        return null;
+                    }));
+                }
+                for (Future<?> task : tasks) {
+                    cancellationToken.throwIfCancelled();
+                    await(task);
+                }
+            } finally {
+                tasks.forEach(task -> task.cancel(true));
+            }
+            return archive.size();
+        }
+    }
+
+    private static void extractBatch(ZipFile archive, Path root, List<ZipEntry> batch,
+                                     CancellationToken cancellationToken) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (ZipEntry entry : batch) {
+            cancellationToken.throwIfCancelled();
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IOException("Extraction of archive " + archive.getName() + " is interrupted");
+            }
+            try (InputStream in = archive.getInputStream(entry);
+                 OutputStream out = Files.newOutputStream(resolve(root, entry))) {
+                int len;
+                while ((len = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, len);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolve the entry against the root, entries pointing outside of the root (zip slip) are rejected.
+     */
+    static Path resolve(Path root, ZipEntry entry) throws IOException {
+        Path target = root.resolve(entry.getName()).normalize();
+        if (!target.startsWith(root)) {
+            throw new IOException("Archive entry " + entry.getName() + " is outside of " + root);
+        }
+        return target;
+    }
+
+    private static void await(Future<?> task) throws IOException {
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting archive", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof CancellationException cancellationException) {
+                throw cancellationException;
+            }
+            throw new IOException("Cannot extract archive entry", e.getCause());
+        }
+    }
+}
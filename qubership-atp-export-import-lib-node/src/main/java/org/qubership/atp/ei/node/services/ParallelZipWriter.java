@@ -0,0 +1,648 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ArchiveManifest;
+import org.qubership.atp.ei.node.dto.ArchiveStatistics;
+import org.qubership.atp.ei.node.dto.CancellationToken;
+
+/**
+ * Zip writer which deflates entries on a worker pool and writes them in a deterministic (sorted path) order.
+ * The produced archive is a standard zip (with zip64 records when needed) readable by
+ * {@link java.util.zip.ZipInputStream} and {@link java.util.zip.ZipFile}.
+ * Entries prepared in memory are limited both by count and by the {@link BufferBudget} shared by all writers
+ * of the worker pool, so concurrent exports do not buffer more than the budget together.
+ */
+class ParallelZipWriter {
+
+    private static final int LOC_SIG = 0x04034b50;
+    private static final int EXT_SIG = 0x08074b50;
+    private static final int CEN_SIG = 0x02014b50;
+    private static final int END_SIG = 0x06054b50;
+    private static final int ZIP64_END_SIG = 0x06064b50;
+    private static final int ZIP64_LOC_SIG = 0x07064b50;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+    private static final int FLAG_UTF8 = 0x0800;
+    private static final int VERSION_DEFAULT = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Files bigger than this are deflated on the writer thread straight into the archive
+     * instead of being buffered in memory by a worker.
+     */
+    static final long LARGE_ENTRY_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * Streamed entries are deflated without zip64 records up to this size. Deflate may grow incompressible data
+     * slightly, so files between this limit and 4 GiB are stored instead: their sizes are known
+     * up front, while a deflated entry could end up on either side of the zip64 boundary.
+     */
+    static final long STREAMED_DEFLATE_LIMIT = ZIP64_MAGIC - ZIP64_MAGIC / 1024;
+
+    private static final long BUFFER_WAIT_MS = 100;
+
+    private final ExecutorService executor;
+    private final BufferBudget bufferBudget;
+    private final int window;
+    private final int level;
+    private final Predicate<Path> storeUncompressed;
+
+    ParallelZipWriter(ExecutorService executor, BufferBudget bufferBudget, int parallelism,
+                      Predicate<Path> storeUncompressed) {
+        this(executor, bufferBudget, parallelism, Deflater.DEFAULT_COMPRESSION, storeUncompressed);
+    }
+
+    ParallelZipWriter(ExecutorService executor, BufferBudget bufferBudget, int parallelism, int level,
+                      Predicate<Path> storeUncompressed) {
+        this.executor = executor;
+        this.bufferBudget = bufferBudget;
+        this.window = Math.max(1, parallelism) * 4;
+        this.level = level;
+        this.storeUncompressed = storeUncompressed;
+    }
+
+    /**
+     * Pack directory content into the output stream. The stream is flushed but not closed.
+     *
+     * @param dirToZip   the dir to zip
+     * @param out        the output stream
+     * @param statistics the statistics to fill
+     * @throws IOException the io exception
+     */
+    void write(Path dirToZip, OutputStream out, ArchiveStatistics statistics) throws IOException {
+        write(dirToZip, out, statistics, null);
+    }
+
+    /**
+     * Pack directory content into the output stream, entity files are listed in the manifest which is written
+     * as the last entry. The stream is flushed but not closed.
+     *
+     * @param dirToZip   the dir to zip
+     * @param out        the output stream
+     * @param statistics the statistics to fill
+     * @param manifest   the manifest to fill and write, null to write no manifest
+     * @throws IOException the io exception
+     */
+    void write(Path dirToZip, OutputStream out, ArchiveStatistics statistics, ArchiveManifest manifest)
+            throws IOException {
+        CancellationToken cancellationToken = CancellationToken.current();
+        List<Path> paths;
+        try (Stream<Path> files = Files.walk(dirToZip)) {
+            paths = files.filter(path -> !dirToZip.equals(path)).sorted().toList();
+        }
+
+        ArchiveOutput archive = new ArchiveOutput(out, statistics, manifest, cancellationToken);
+        Deque<PendingEntry> pending = new ArrayDeque<>();
+        try {
+            for (Path path : paths) {
+                cancellationToken.throwIfCancelled();
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                int permits = attrs.isRegularFile() && attrs.size() <= LARGE_ENTRY_SIZE
+                        ? bufferBudget.permitsOf(attrs.size()) : 0;
+                acquireBuffer(permits, archive, pending, cancellationToken);
+                Future<PreparedEntry> future;
+                try {
+                    future = prepare(dirToZip, path, attrs);
+                } catch (RuntimeException e) {
+                    bufferBudget.release(permits);
+                    throw e;
+                }
+                pending.add(new PendingEntry(future, permits));
+                if (pending.size() >= window) {
+                    writeNext(archive, pending);
+                }
+            }
+            while (!pending.isEmpty()) {
+                cancellationToken.throwIfCancelled();
+                writeNext(archive, pending);
+            }
+            if (manifest != null) {
+                archive.writeEntry(compress(Constant.ARCHIVE_MANIFEST_FILE_NAME, FileService.toBytes(manifest),
+                        javaToDosTime(System.currentTimeMillis())));
+            }
+            archive.finish();
+        } finally {
+            pending.forEach(entry -> {
+                entry.future().cancel(true);
+                bufferBudget.release(entry.permits());
+            });
+        }
+    }
+
+    /**
+     * Take permits of the buffer budget, pending entries of this writer are written meanwhile to free
+     * their permits, so a writer never waits for the budget held by itself.
+     */
+    private void acquireBuffer(int permits, ArchiveOutput archive, Deque<PendingEntry> pending,
+                               CancellationToken cancellationToken) throws IOException {
+        try {
+            while (!bufferBudget.tryAcquire(permits, pending.isEmpty() ? BUFFER_WAIT_MS : 0)) {
+                cancellationToken.throwIfCancelled();
+                if (!pending.isEmpty()) {
+                    writeNext(archive, pending);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while packing archive", e);
+        }
+    }
+
+    private void writeNext(ArchiveOutput archive, Deque<PendingEntry> pending) throws IOException {
+        PendingEntry entry = pending.peek();
+        try {
+            archive.writeEntry(await(entry.future()));
+        } finally {
+            pending.poll();
+            bufferBudget.release(entry.permits());
+        }
+    }
+
+    private Future<PreparedEntry> prepare(Path dirToZip, Path path, BasicFileAttributes attrs) {
+        String name = dirToZip.relativize(path).toString().replace('\\', '/');
+        long dosTime = javaToDosTime(attrs.lastModifiedTime().toMillis());
+        if (attrs.isDirectory()) {
+            return CompletableFuture.completedFuture(PreparedEntry.directory(name + "/", dosTime));
+        }
+        boolean stored = storeUncompressed.test(path);
+        if (attrs.size() > LARGE_ENTRY_SIZE) {
+            if (stored || attrs.size() >= STREAMED_DEFLATE_LIMIT && attrs.size() <= ZIP64_MAGIC) {
+                CancellationToken cancellationToken = CancellationToken.current();
+                return executor.submit(() -> PreparedEntry.streamedStored(name, path,
+                        checksum(path, cancellationToken), dosTime));
+            }
+            return CompletableFuture.completedFuture(PreparedEntry.streamed(name, path, dosTime));
+        }
+        if (stored) {
+            return executor.submit(() -> store(name, path, dosTime));
+        }
+        return executor.submit(() -> compress(name, path, dosTime));
+    }
+
+    private PreparedEntry store(String name, Path path, long dosTime) throws IOException {
+        byte[] raw = Files.readAllBytes(path);
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        return PreparedEntry.inMemory(name, ZipEntry.STORED, crc.getValue(), raw.length, raw, dosTime, true);
+    }
+
+    private static long checksum(Path path, CancellationToken cancellationToken) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int len;
+            while ((len = in.read(buffer)) > 0) {
+                cancellationToken.throwIfCancelled();
+                crc.update(buffer, 0, len);
+            }
+            return crc.getValue();
+        }
+    }
+
+    private PreparedEntry compress(String name, Path path, long dosTime) throws IOException {
+        return compress(name, Files.readAllBytes(path), dosTime);
+    }
+
+    private PreparedEntry compress(String name, byte[] raw, long dosTime) {
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[Math.min(BUFFER_SIZE, Math.max(512, raw.length))];
+            while (!deflater.finished()) {
+                int len = deflater.deflate(buffer);
+                compressed.write(buffer, 0, len);
+            }
+            if (compressed.size() >= raw.length) {
+                return PreparedEntry.inMemory(name, ZipEntry.STORED, crc.getValue(), raw.length, raw, dosTime,
+                        false);
+            }
+            return PreparedEntry.inMemory(name, ZipEntry.DEFLATED, crc.getValue(), raw.length,
+                    compressed.toByteArray(), dosTime, false);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static PreparedEntry await(Future<PreparedEntry> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while packing archive", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Cannot compress archive entry", e.getCause());
+        }
+    }
+
+    /**
+     * Same conversion as {@link ZipEntry#setTime(long)} does for the MS-DOS date/time fields.
+     */
+    static long javaToDosTime(long time) {
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        int year = dateTime.getYear() - 1980;
+        if (year < 0) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (year << 25 | dateTime.getMonthValue() << 21 | dateTime.getDayOfMonth() << 16
+                | dateTime.getHour() << 11 | dateTime.getMinute() << 5 | dateTime.getSecond() >> 1) & 0xFFFFFFFFL;
+    }
+
+    private final class ArchiveOutput {
+
+        private final OutputStream out;
+        private final ArchiveStatistics statistics;
+        private final ArchiveManifest manifest;
+        private final CancellationToken cancellationToken;
+        private final List<CentralEntry> centralEntries = new ArrayList<>();
+        private long written;
+
+        ArchiveOutput(OutputStream target, ArchiveStatistics statistics, ArchiveManifest manifest,
+                      CancellationToken cancellationToken) {
+            this.out = new BufferedOutputStream(target, BUFFER_SIZE);
+            this.statistics = statistics;
+            this.manifest = manifest;
+            this.cancellationToken = cancellationToken;
+        }
+
+        void writeEntry(PreparedEntry entry) throws IOException {
+            if (entry.path != null && entry.method == ZipEntry.STORED) {
+                writeStreamedStoredEntry(entry);
+                return;
+            }
+            if (entry.path != null) {
+                writeStreamedEntry(entry);
+                return;
+            }
+            long offset = written;
+            byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+            writeLocalHeader(FLAG_UTF8, entry.method, entry.dosTime, entry.crc, entry.data.length, entry.size, name,
+                    false);
+            writeBytes(entry.data, 0, entry.data.length);
+            centralEntries.add(new CentralEntry(name, FLAG_UTF8, entry.method, entry.dosTime, entry.crc,
+                    entry.data.length, entry.size, offset));
+            if (!entry.name.endsWith("/")) {
+                statistics.addEntry(entry.size, entry.data.length, entry.precompressed);
+                addToManifest(entry.name, entry.size, entry.crc);
+            }
+        }
+
+        private void writeStreamedStoredEntry(PreparedEntry entry) throws IOException {
+            long offset = written;
+            byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+            long size = Files.size(entry.path);
+            writeLocalHeader(FLAG_UTF8, ZipEntry.STORED, entry.dosTime, entry.crc, size, size, name,
+                    size >= ZIP64_MAGIC);
+            long copied;
+            try (InputStream in = Files.newInputStream(entry.path)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                copied = 0;
+                int len;
+                while ((len = in.read(buffer)) > 0) {
+                    cancellationToken.throwIfCancelled();
+                    writeBytes(buffer, 0, len);
+                    copied += len;
+                }
+            }
+            if (copied != size) {
+                throw new IOException("File " + entry.path + " was changed while packing");
+            }
+            centralEntries.add(new CentralEntry(name, FLAG_UTF8, ZipEntry.STORED, entry.dosTime, entry.crc,
+                    size, size, offset));
+            statistics.addEntry(size, size, true);
+            addToManifest(entry.name, size, entry.crc);
+        }
+
+        /**
+         * Deflate a large file straight into the archive, sizes and crc follow the data in a data descriptor.
+         * Files bigger than 4 GiB get a zip64 extra in the local header and an 8-byte descriptor, so that readers
+         * which pick the descriptor layout by the local header and readers which pick it by the entry sizes
+         * (as {@link java.util.zip.ZipInputStream} did before JDK 22) agree. Any other file must stay
+         * below the zip64 boundary.
+         */
+        private void writeStreamedEntry(PreparedEntry entry) throws IOException {
+            long offset = written;
+            byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+            int flags = FLAG_UTF8 | FLAG_DATA_DESCRIPTOR;
+            boolean zip64 = Files.size(entry.path) > ZIP64_MAGIC;
+            writeLocalHeader(flags, ZipEntry.DEFLATED, entry.dosTime, 0, 0, 0, name, zip64);
+
+            Deflater deflater = new Deflater(level, true);
+            long crc;
+            long size;
+            long compressedSize;
+            try (InputStream file = Files.newInputStream(entry.path);
+                 CheckedInputStream in = new CheckedInputStream(file, new CRC32())) {
+                DeflaterOutputStream deflaterOut = new DeflaterOutputStream(new FilterOutputStream(out) {
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        writeBytes(b, off, len);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        writeBytes(new byte[]{(byte) b}, 0, 1);
+                    }
+                }, deflater, BUFFER_SIZE);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int len;
+                while ((len = in.read(buffer)) > 0) {
+                    cancellationToken.throwIfCancelled();
+                    deflaterOut.write(buffer, 0, len);
+                }
+                deflaterOut.finish();
+                crc = in.getChecksum().getValue();
+                size = deflater.getBytesRead();
+                compressedSize = deflater.getBytesWritten();
+            } finally {
+                deflater.end();
+            }
+
+            boolean fitsDescriptor = zip64 ? size > ZIP64_MAGIC || compressedSize > ZIP64_MAGIC
+                    : size < ZIP64_MAGIC && compressedSize < ZIP64_MAGIC;
+            if (!fitsDescriptor) {
+                throw new IOException("File " + entry.path + " was changed while packing");
+            }
+            writeInt(EXT_SIG);
+            writeInt(crc);
+            if (zip64) {
+                writeLong(compressedSize);
+                writeLong(size);
+            } else {
+                writeInt(compressedSize);
+                writeInt(size);
+            }
+            centralEntries.add(new CentralEntry(name, flags, ZipEntry.DEFLATED, entry.dosTime, crc,
+                    compressedSize, size, offset));
+            statistics.addEntry(size, compressedSize, false);
+            addToManifest(entry.name, size, crc);
+        }
+
+        private void addToManifest(String name, long size, long crc) {
+            if (manifest != null) {
+                FileService.addManifestEntry(manifest, name, size, crc);
+            }
+        }
+
+        private void writeLocalHeader(int flags, int method, long dosTime, long crc, long compressedSize,
+                                      long size, byte[] name, boolean zip64) throws IOException {
+            writeInt(LOC_SIG);
+            writeShort(zip64 ? VERSION_ZIP64 : VERSION_DEFAULT);
+            writeShort(flags);
+            writeShort(method);
+            writeInt(dosTime);
+            writeInt(crc);
+            writeInt(zip64 ? ZIP64_MAGIC : compressedSize);
+            writeInt(zip64 ? ZIP64_MAGIC : size);
+            writeShort(name.length);
+            writeShort(zip64 ? 20 : 0);
+            writeBytes(name, 0, name.length);
+            if (zip64) {
+                writeShort(ZIP64_EXTRA_ID);
+                writeShort(16);
+                writeLong(size);
+                writeLong(compressedSize);
+            }
+        }
+
+        void finish() throws IOException {
+            long centralOffset = written;
+            for (CentralEntry entry : centralEntries) {
+                writeCentralEntry(entry);
+            }
+            long centralSize = written - centralOffset;
+            int count = centralEntries.size();
+            boolean zip64 = count >= ZIP64_MAGIC_COUNT || centralOffset >= ZIP64_MAGIC
+                    || centralSize >= ZIP64_MAGIC;
+            if (zip64) {
+                long zip64EndOffset = written;
+                writeInt(ZIP64_END_SIG);
+                writeLong(44);
+                writeShort(VERSION_ZIP64);
+                writeShort(VERSION_ZIP64);
+                writeInt(0);
+                writeInt(0);
+                writeLong(count);
+                writeLong(count);
+                writeLong(centralSize);
+                writeLong(centralOffset);
+
+                writeInt(ZIP64_LOC_SIG);
+                writeInt(0);
+                writeLong(zip64EndOffset);
+                writeInt(1);
+            }
+            writeInt(END_SIG);
+            writeShort(0);
+            writeShort(0);
+            writeShort(Math.min(count, ZIP64_MAGIC_COUNT));
+            writeShort(Math.min(count, ZIP64_MAGIC_COUNT));
+            writeInt(Math.min(centralSize, ZIP64_MAGIC));
+            writeInt(Math.min(centralOffset, ZIP64_MAGIC));
+            writeShort(0);
+            out.flush();
+        }
+
+        private void writeCentralEntry(CentralEntry entry) throws IOException {
+            boolean sizeZip64 = entry.size >= ZIP64_MAGIC;
+            boolean compressedSizeZip64 = entry.compressedSize >= ZIP64_MAGIC;
+            boolean offsetZip64 = entry.offset >= ZIP64_MAGIC;
+            int extraDataSize = (sizeZip64 ? 8 : 0) + (compressedSizeZip64 ? 8 : 0) + (offsetZip64 ? 8 : 0);
+            int version = extraDataSize > 0 ? VERSION_ZIP64 : VERSION_DEFAULT;
+
+            writeInt(CEN_SIG);
+            writeShort(version);
+            writeShort(version);
+            writeShort(entry.flags);
+            writeShort(entry.method);
+            writeInt(entry.dosTime);
+            writeInt(entry.crc);
+            writeInt(compressedSizeZip64 ? ZIP64_MAGIC : entry.compressedSize);
+            writeInt(sizeZip64 ? ZIP64_MAGIC : entry.size);
+            writeShort(entry.name.length);
+            writeShort(extraDataSize > 0 ? extraDataSize + 4 : 0);
+            writeShort(0);
+            writeShort(0);
+            writeShort(0);
+            writeInt(0);
+            writeInt(offsetZip64 ? ZIP64_MAGIC : entry.offset);
+            writeBytes(entry.name, 0, entry.name.length);
+            if (extraDataSize > 0) {
+                writeShort(ZIP64_EXTRA_ID);
+                writeShort(extraDataSize);
+                if (sizeZip64) {
+                    writeLong(entry.size);
+                }
+                if (compressedSizeZip64) {
+                    writeLong(entry.compressedSize);
+                }
+                if (offsetZip64) {
+                    writeLong(entry.offset);
+                }
+            }
+        }
+
+        private void writeShort(int value) throws IOException {
+            out.write(value & 0xFF);
+            out.write((value >>> 8) & 0xFF);
+            written += 2;
+        }
+
+        private void writeInt(long value) throws IOException {
+            out.write((int) (value & 0xFF));
+            out.write((int) ((value >>> 8) & 0xFF));
+            out.write((int) ((value >>> 16) & 0xFF));
+            out.write((int) ((value >>> 24) & 0xFF));
+            written += 4;
+        }
+
+        private void writeLong(long value) throws IOException {
+            writeInt(value & 0xFFFFFFFFL);
+            writeInt(value >>> 32);
+        }
+
+        private void writeBytes(byte[] bytes, int off, int len) throws IOException {
+            out.write(bytes, off, len);
+            written += len;
+        }
+    }
+
+    /**
+     * Bytes of entries which all writers sharing the budget may hold in memory, counted in KiB permits.
+     * An entry bigger than the whole budget takes all of it.
+     */
+    static final class BufferBudget {
+
+        private static final int PERMIT_SIZE = 1024;
+
+        private final Semaphore permits;
+        private final int capacity;
+
+        BufferBudget(long maxBufferedBytes) {
+            this.capacity = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBufferedBytes / PERMIT_SIZE));
+            this.permits = new Semaphore(capacity, true);
+        }
+
+        int permitsOf(long size) {
+            return (int) Math.min(capacity, (size + PERMIT_SIZE - 1) / PERMIT_SIZE);
+        }
+
+        boolean tryAcquire(int count, long timeoutMs) throws InterruptedException {
+            return count == 0 || permits.tryAcquire(count, timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        void release(int count) {
+            if (count > 0) {
+                permits.release(count);
+            }
+        }
+
+        int available() {
+            return permits.availablePermits();
+        }
+    }
+
+    private record PendingEntry(Future<PreparedEntry> future, int permits) {
+    }
+
+    private record CentralEntry(byte[] name, int flags, int method, long dosTime, long crc,
+                                long compressedSize, long size, long offset) {
+    }
+
+    private static final class PreparedEntry {
+
+        private final String name;
+        private final int method;
+        private final long crc;
+        private final long size;
+        private final byte[] data;
+        private final long dosTime;
+        private final Path path;
+        private final boolean precompressed;
+
+        private PreparedEntry(String name, int method, long crc, long size, byte[] data, long dosTime, Path path,
+                              boolean precompressed) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+            this.dosTime = dosTime;
+            this.path = path;
+            this.precompressed = precompressed;
+        }
+
+        static PreparedEntry directory(String name, long dosTime) {
+            return new PreparedEntry(name, ZipEntry.STORED, 0, 0, new byte[0], dosTime, null, false);
+        }
+
+        static PreparedEntry inMemory(String name, int method, long crc, long size, byte[] data, long dosTime,
+                                      boolean precompressed) {
+            return new PreparedEntry(name, method, crc, size, data, dosTime, null, precompressed);
+        }
+
+        static PreparedEntry streamed(String name, Path path, long dosTime) {
+            return new PreparedEntry(name, ZipEntry.DEFLATED, 0, 0, null, dosTime, path, false);
+        }
+
+        static PreparedEntry streamedStored(String name, Path path, long crc, long dosTime) {
+            return new PreparedEntry(name, ZipEntry.STORED, crc, 0, null, dosTime, path, true);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.qubership.atp.ei.node.ExportExecutor;
 import org.qubership.atp.ei.node.ExportExecutorWrapper;
 import org.qubership.atp.ei.node.config.ExportImportNodeConfig;
 import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.EntityEncoding;
 import org.qubership.atp.ei.node.dto.ExportNodeInfo;
 import org.qubership.atp.ei.node.dto.RunNodeRequest;
 import org.qubership.atp.ei.node.exceptions.ExportException;
@@ -30,8 +31,10 @@ import org.qubership.atp.ei.node.services.ExportImportFilesService;
 import org.qubership.atp.ei.node.services.ExportNodeService;
 import org.qubership.atp.ei.node.services.FileService;
 import org.qubership.atp.ei.node.services.MetricsExportImportService;
+import org.qubership.atp.ei.node.services.ObjectLoaderFromDiskService;
 import org.qubership.atp.integration.configuration.mdc.MdcUtils;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -47,6 +50,9 @@ public class ExportNodeServiceImpl implements ExportNodeService {
     @Value("${spring.application.name}")
     private String applicationName;
 
+    @Value("${atp.export.entity-encoding:JSON}")
+    private EntityEncoding entityEncoding;
+
     private final NotifyService notifyService;
     private final ObjectMapper objectMapper;
     private final ExportExecutor exportExecutor;
@@ -56,6 +62,7 @@ public class ExportNodeServiceImpl implements ExportNodeService {
     private final FileService fileService;
     private final Map<String, String> mdcContext;
     private final MetricsExportImportService metricsExportImportService;
+    private final ObjectLoaderFromDiskService objectLoaderFromDiskService;
 
     /**
      * Instantiates a new Export node service.
@@ -72,6 +79,28 @@ public class ExportNodeServiceImpl implements ExportNodeService {
                                  ExportImportFilesService exportImportFilesService,
                                  FileService fileService,
                                  MetricsExportImportService metricsExportImportService) {
+        this(threadPoolTaskExecutor, notifyService, objectMapper, exportExecutor, tasksService,
+                exportImportFilesService, fileService, metricsExportImportService, null);
+    }
+
+    /**
+     * Instantiates a new Export node service which drops indexes of object files once an export is finished.
+     *
+     * @param notifyService               the notify service to orchestrator
+     * @param objectMapper                the object mapper
+     * @param exportExecutor              the export executor
+     * @param objectLoaderFromDiskService the loader which indexes object files
+     */
+    @Autowired
+    public ExportNodeServiceImpl(@Qualifier("atpExportThreadExecutor") ThreadPoolTaskExecutor threadPoolTaskExecutor,
+                                 NotifyService notifyService,
+                                 ObjectMapper objectMapper,
+                                 ExportExecutor exportExecutor,
+                                 TasksService tasksService,
+                                 ExportImportFilesService exportImportFilesService,
+                                 FileService fileService,
+                                 MetricsExportImportService metricsExportImportService,
+                                 ObjectLoaderFromDiskService objectLoaderFromDiskService) {
         this.threadPoolTaskExecutor = threadPoolTaskExecutor;
         this.notifyService = notifyService;
         this.objectMapper = objectMapper;
@@ -81,6 +110,7 @@ public class ExportNodeServiceImpl implements ExportNodeService {
         this.fileService = fileService;
         this.mdcContext = MDC.getCopyOfContextMap();
         this.metricsExportImportService = metricsExportImportService;
+        this.objectLoaderFromDiskService = objectLoaderFromDiskService;
     }
 
     @Override
@@ -100,7 +130,7 @@ public class ExportNodeServiceImpl implements ExportNodeService {
             ExportExecutorWrapper executor = new ExportExecutorWrapper(request,
                     fileService.getFolderPath(request.getProjectId(), request.getProcessId(), Constant.EXPORT),
                     exportExecutor, getExportNodeInfo(false), notifyService, objectMapper,
-                    exportImportFilesService, fileService, metricsExportImportService);
+                    exportImportFilesService, fileService, metricsExportImportService, objectLoaderFromDiskService);
 
             tasksService.submitTask(request.getTaskId(), executor, threadPoolTaskExecutor);
         } catch (Exception e) {
@@ -134,10 +164,12 @@ public class ExportNodeServiceImpl implements ExportNodeService {
 
         info.setExportImplementationClass(exportExecutor.getClass().getCanonicalName());
         info.setExportImplementationName(exportExecutor.getExportImplementationName());
+        info.setEntityEncoding(entityEncoding);
 
         if (isDetailed) {
             info.setDefaultWorkDir(ExportImportNodeConfig.DEFAULT_WORK_DIR);
             info.setActiveExportCount(threadPoolTaskExecutor.getActiveCount());
+            info.setQueuedExportCount(tasksService.getQueuedTaskCount(threadPoolTaskExecutor));
         }
 
         return info;
@@ -0,0 +1,254 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded queue in front of a thread pool.
+ * Tasks are queued per project and started round-robin across projects, so a bulk of tasks of one project
+ * cannot starve the others. Within a project tasks with higher priority are started first.
+ * No more tasks than the cap run at a time and a project never runs more than its own cap.
+ * The pool's max pool size cannot be the cap, it is unbounded when the pool runs tasks in virtual threads.
+ */
+@Slf4j
+class FairTaskScheduler {
+
+    private static final Object NO_PROJECT = new Object();
+    private static final long REDISPATCH_DELAY_MS = 50;
+    private static final Comparator<QueuedTask> ORDER = Comparator.<QueuedTask>comparingInt(task -> -task.priority)
+            .thenComparingLong(task -> task.sequence);
+
+    private final ThreadPoolTaskExecutor pool;
+    private final int queueCapacity;
+    private final int maxRunningTasks;
+    private final int maxRunningTasksPerProject;
+    private final Map<Object, PriorityQueue<QueuedTask>> queues = new HashMap<>();
+    private final Deque<Object> rotation = new ArrayDeque<>();
+    private final Map<Object, Integer> runningByProject = new HashMap<>();
+    private int running;
+    private int queued;
+    private long sequence;
+
+    FairTaskScheduler(ThreadPoolTaskExecutor pool, int queueCapacity, int maxRunningTasks,
+                      int maxRunningTasksPerProject) {
+        this.pool = pool;
+        this.queueCapacity = queueCapacity;
+        this.maxRunningTasks = Math.min(pool.getMaxPoolSize(), maxRunningTasks);
+        this.maxRunningTasksPerProject = maxRunningTasksPerProject;
+    }
+
+    /**
+     * Queue the task, it is started as soon as the pool and the project have a free slot.
+     *
+     * @param callable the task
+     * @param progress the progress of the task, its project is used for scheduling
+     * @param priority the priority, tasks with higher value are started first within the project
+     * @return the future of the task
+     * @throws ExportException if the queue is full
+     */
+    synchronized ListenableFuture<Object> submit(Callable<Object> callable, TaskProgress progress, int priority)
+            throws ExportException {
+        if (queued >= queueCapacity) {
+            log.error("Unable to queue task {} because the queue of {} tasks is full",
+                    progress.getTaskId(), queueCapacity);
+            ExportException.throwException("Unable to queue task {} because the queue of {} tasks is full",
+                    progress.getTaskId(), queueCapacity);
+        }
+        Object project = progress.getProjectId() == null ? NO_PROJECT : progress.getProjectId();
+        QueuedTask task = new QueuedTask(project, new ListenableFutureTask<>(callable), progress, priority,
+                sequence++);
+        queues.computeIfAbsent(project, key -> {
+            rotation.addLast(key);
+            return new PriorityQueue<>(ORDER);
+        }).add(task);
+        queued++;
+        // a task cancelled while it is queued has to free its place at once
+        task.future.addCallback(result -> { }, error -> removeIfQueued(task));
+        dispatch();
+        return task.future;
+    }
+
+    synchronized int getQueuedCount() {
+        return queued;
+    }
+
+    private synchronized void removeIfQueued(QueuedTask task) {
+        PriorityQueue<QueuedTask> queue = queues.get(task.project);
+        if (queue != null && queue.remove(task)) {
+            queued--;
+            task.progress.setQueuePosition(null);
+            if (queue.isEmpty()) {
+                queues.remove(task.project);
+                rotation.remove(task.project);
+            }
+            updateQueuePositions();
+        }
+    }
+
+    private void dispatch() {
+        while (running < maxRunningTasks) {
+            QueuedTask task = pollNext();
+            if (task == null) {
+                break;
+            }
+            if (!execute(task)) {
+                break;
+            }
+        }
+        updateQueuePositions();
+    }
+
+    /**
+     * Take the next task in round-robin order skipping projects which reached the cap and mark it as running.
+     */
+    private QueuedTask pollNext() {
+        int skipped = 0;
+        while (skipped < rotation.size()) {
+            Object project = rotation.pollFirst();
+            if (runningByProject.getOrDefault(project, 0) >= maxRunningTasksPerProject) {
+                rotation.addLast(project);
+                skipped++;
+                continue;
+            }
+            PriorityQueue<QueuedTask> queue = queues.get(project);
+            QueuedTask task = queue.poll();
+            queued--;
+            if (queue.isEmpty()) {
+                queues.remove(project);
+            } else {
+                rotation.addLast(project);
+            }
+            task.progress.setQueuePosition(null);
+            running++;
+            runningByProject.merge(project, 1, Integer::sum);
+            return task;
+        }
+        return null;
+    }
+
+    private boolean execute(QueuedTask task) {
+        try {
+            pool.execute(() -> runTasks(task));
+            return true;
+        } catch (RejectedExecutionException | ExportException e) {
+            running--;
+            runningByProject.merge(task.project, -1, Integer::sum);
+            if (pool.getThreadPoolExecutor().isShutdown()) {
+                log.error("Unable to start task {} because the pool is shut down", task.progress.getTaskId(), e);
+                task.future.cancel(false);
+                return false;
+            }
+            // a pool thread which has just finished its task is not ready yet, try again a bit later
+            log.debug("Pool is busy, task {} is queued again", task.progress.getTaskId());
+            requeue(task);
+            CompletableFuture.delayedExecutor(REDISPATCH_DELAY_MS, TimeUnit.MILLISECONDS).execute(this::redispatch);
+            return false;
+        }
+    }
+
+    private void requeue(QueuedTask task) {
+        queues.computeIfAbsent(task.project, key -> {
+            rotation.addFirst(key);
+            return new PriorityQueue<>(ORDER);
+        }).add(task);
+        queued++;
+    }
+
+    private synchronized void redispatch() {
+        dispatch();
+    }
+
+    /**
+     * Run the task and then the next queued tasks on the same pool thread while there are any,
+     * so a finished task hands its slot over without going back to the pool.
+     */
+    private void runTasks(QueuedTask first) {
+        QueuedTask task = first;
+        while (task != null) {
+            task.future.run();
+            task = finishedAndPollNext(task.project);
+        }
+    }
+
+    private synchronized QueuedTask finishedAndPollNext(Object project) {
+        running--;
+        runningByProject.merge(project, -1, Integer::sum);
+        QueuedTask next = pollNext();
+        updateQueuePositions();
+        return next;
+    }
+
+    /**
+     * Positions follow the order tasks would be started in: one task of each project per round.
+     */
+    private void updateQueuePositions() {
+        List<List<QueuedTask>> projectQueues = new ArrayList<>(rotation.size());
+        int rounds = 0;
+        for (Object project : rotation) {
+            List<QueuedTask> queue = new ArrayList<>(queues.get(project));
+            queue.sort(ORDER);
+            projectQueues.add(queue);
+            rounds = Math.max(rounds, queue.size());
+        }
+        int position = 1;
+        for (int round = 0; round < rounds; round++) {
+            for (List<QueuedTask> queue : projectQueues) {
+                if (round < queue.size()) {
+                    queue.get(round).progress.setQueuePosition(position++);
+                }
+            }
+        }
+    }
+
+    private static class QueuedTask {
+
+        private final Object project;
+        private final ListenableFutureTask<Object> future;
+        private final TaskProgress progress;
+        private final int priority;
+        private final long sequence;
+
+        QueuedTask(Object project, ListenableFutureTask<Object> future, TaskProgress progress, int priority,
+                   long sequence) {
+            this.project = project;
+            this.future = future;
+            this.progress = progress;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
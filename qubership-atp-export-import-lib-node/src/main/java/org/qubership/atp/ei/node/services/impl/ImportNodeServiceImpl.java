@@ -30,8 +30,10 @@ import org.qubership.atp.ei.node.services.ExportImportFilesService;
 import org.qubership.atp.ei.node.services.FileService;
 import org.qubership.atp.ei.node.services.ImportNodeService;
 import org.qubership.atp.ei.node.services.MetricsExportImportService;
+import org.qubership.atp.ei.node.services.ObjectLoaderFromDiskService;
 import org.qubership.atp.integration.configuration.mdc.MdcUtils;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
@@ -50,6 +52,7 @@ public class ImportNodeServiceImpl implements ImportNodeService {
     private final FileService fileService;
     private final Map<String, String> mdcContext;
     private final MetricsExportImportService metricsExportImportService;
+    private final ObjectLoaderFromDiskService objectLoaderFromDiskService;
 
     /**
      * Instantiates a new Import node service.
@@ -65,6 +68,27 @@ public class ImportNodeServiceImpl implements ImportNodeService {
                                  ExportImportFilesService exportImportFilesService,
                                  FileService fileService,
                                  MetricsExportImportService metricsExportImportService) {
+        this(threadPoolTaskExecutor, importExecutor, tasksService, notifyService, exportImportFilesService,
+                fileService, metricsExportImportService, null);
+    }
+
+    /**
+     * Instantiates a new Import node service which drops indexes of object files once an import is finished.
+     *
+     * @param importExecutor              the import executor
+     * @param tasksService                the tasks service
+     * @param notifyService               the notify service
+     * @param objectLoaderFromDiskService the loader which indexes object files
+     */
+    @Autowired
+    public ImportNodeServiceImpl(@Qualifier("atpImportThreadExecutor") ThreadPoolTaskExecutor threadPoolTaskExecutor,
+                                 ImportExecutor importExecutor,
+                                 TasksService tasksService,
+                                 NotifyService notifyService,
+                                 ExportImportFilesService exportImportFilesService,
+                                 FileService fileService,
+                                 MetricsExportImportService metricsExportImportService,
+                                 ObjectLoaderFromDiskService objectLoaderFromDiskService) {
         this.threadPoolTaskExecutor = threadPoolTaskExecutor;
         this.importExecutor = importExecutor;
         this.tasksService = tasksService;
@@ -73,6 +97,7 @@ public class ImportNodeServiceImpl implements ImportNodeService {
         this.fileService = fileService;
         this.mdcContext = MDC.getCopyOfContextMap();
         this.metricsExportImportService = metricsExportImportService;
+        this.objectLoaderFromDiskService = objectLoaderFromDiskService;
     }
 
     @Override
@@ -83,9 +108,10 @@ public class ImportNodeServiceImpl implements ImportNodeService {
 
             ImportExecutorWrapper executor = new ImportExecutorWrapper(
                     request, importDirectory, ValidationType.VALIDATE, importExecutor, notifyService,
-                    exportImportFilesService, fileService, metricsExportImportService);
+                    exportImportFilesService, fileService, metricsExportImportService, objectLoaderFromDiskService);
 
-            tasksService.submitTask(request.getTaskId(), executor, threadPoolTaskExecutor);
+            tasksService.submitTask(request.getTaskId(), executor, threadPoolTaskExecutor,
+                    TasksService.PRIORITY_HIGH);
         } catch (Exception e) {
             String msg = "Error while start validation";
             log.error(msg, e);
@@ -101,9 +127,10 @@ public class ImportNodeServiceImpl implements ImportNodeService {
 
             ImportExecutorWrapper executor = new ImportExecutorWrapper(
                     request, importDirectory, ValidationType.PRE_VALIDATE, importExecutor, notifyService,
-                    exportImportFilesService, fileService, metricsExportImportService);
+                    exportImportFilesService, fileService, metricsExportImportService, objectLoaderFromDiskService);
 
-            tasksService.submitTask(request.getTaskId(), executor, threadPoolTaskExecutor);
+            tasksService.submitTask(request.getTaskId(), executor, threadPoolTaskExecutor,
+                    TasksService.PRIORITY_HIGH);
         } catch (Exception e) {
             String msg = "Error while start validation";
             log.error(msg, e);
@@ -137,7 +164,7 @@ public class ImportNodeServiceImpl implements ImportNodeService {
 
             ImportExecutorWrapper executor = new ImportExecutorWrapper(
                     request, importDirectory, null, importExecutor, notifyService,
-                    exportImportFilesService, fileService, metricsExportImportService);
+                    exportImportFilesService, fileService, metricsExportImportService, objectLoaderFromDiskService);
 
             tasksService.submitTask(request.getTaskId(), executor, threadPoolTaskExecutor);
 
@@ -0,0 +1,326 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.qubership.atp.ei.node.clients.ExportImportFeignClient;
+import org.qubership.atp.ei.node.dto.ExportImportReportRequest;
+import org.qubership.atp.ei.node.dto.NotificationOutboxEntry;
+import org.qubership.atp.ei.node.dto.RunNodeRequest;
+import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable queue of reports to the export-import service.
+ * Every report is stored as a file in the outbox dir before the task thread is released,
+ * a single background sender delivers stored reports in the order they were added and deletes delivered files.
+ * The outbox dir must be outside of the work dir, files in the work dir are deleted by the cleanup job.
+ * When the service is unavailable the sender stops and retries with exponential backoff, so reports survive
+ * both the service downtime and a restart of the node. Delivery is at least once.
+ * Reports are sent in the security context of the task. Reports recovered after a restart have no such context,
+ * they are sent with whatever credentials the client uses without it, e.g. the token of the node itself.
+ * Unauthorized reports are retried too, since a token may be unavailable for a while after the start,
+ * but only up to the max number of unauthorized attempts.
+ * Any report is retried up to the max number of attempts, so one report the service keeps failing on
+ * does not hold up the later reports forever.
+ * Reports rejected by the service as invalid and reports out of attempts are kept
+ * with {@value #FAILED_EXTENSION} extension.
+ */
+@Slf4j
+@Service
+public class NotificationOutbox {
+
+    private static final String ENTRY_EXTENSION = ".json";
+    private static final String FAILED_EXTENSION = ".failed";
+
+    private final ExportImportFeignClient exportImportFeignClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final boolean enabled;
+    private final int batchSize;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final int maxAttempts;
+    private final int maxUnauthorizedAttempts;
+    private final Path outboxDir;
+    private final Map<Path, SecurityContext> securityContexts = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private ScheduledExecutorService sender;
+    private boolean deliveryScheduled;
+    private boolean newEntries;
+    private int failures;
+
+    /**
+     * Instantiates a new notification outbox.
+     *
+     * @param exportImportFeignClient the client of the export-import service
+     * @param enabled                 whether reports are sent through the outbox
+     * @param batchSize               max number of reports delivered in one pass
+     * @param initialBackoffMs        delay before the first retry
+     * @param maxBackoffMs            max delay between retries
+     * @param maxAttempts             max number of attempts of a report
+     * @param maxUnauthorizedAttempts max number of attempts of a report rejected as unauthorized
+     * @param outboxDir               the outbox dir, outside of the work dir
+     */
+    public NotificationOutbox(ExportImportFeignClient exportImportFeignClient,
+                              @Value("${atp.ei.notify.outbox.enabled:false}") boolean enabled,
+                              @Value("${atp.ei.notify.outbox.batchSize:50}") int batchSize,
+                              @Value("${atp.ei.notify.outbox.initialBackoffMs:1000}") long initialBackoffMs,
+                              @Value("${atp.ei.notify.outbox.maxBackoffMs:300000}") long maxBackoffMs,
+                              @Value("${atp.ei.notify.outbox.maxAttempts:50}") int maxAttempts,
+                              @Value("${atp.ei.notify.outbox.maxUnauthorizedAttempts:10}")
+                              int maxUnauthorizedAttempts,
+                              @Value("${atp.ei.notify.outbox.dir:exportimport/notification-outbox}")
+                              String outboxDir) {
+        this.exportImportFeignClient = exportImportFeignClient;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxAttempts = maxAttempts;
+        this.maxUnauthorizedAttempts = maxUnauthorizedAttempts;
+        this.outboxDir = Path.of(outboxDir);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start the sender, reports stored before the restart are delivered first.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || sender != null) {
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("atp-ei-notify-outbox-");
+        threadFactory.setDaemon(true);
+        sender = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduleDelivery(0);
+    }
+
+    /**
+     * Stop the sender, undelivered reports stay in the outbox.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (sender != null) {
+            sender.shutdownNow();
+            sender = null;
+        }
+    }
+
+    /**
+     * Store the report in the outbox, it is delivered by the background sender.
+     *
+     * @param exportImportType the export import type
+     * @param runNodeRequest   the request of the task
+     * @param report           the report
+     * @throws ExportException if the report cannot be stored
+     */
+    public void add(String exportImportType, RunNodeRequest runNodeRequest, ExportImportReportRequest report)
+            throws ExportException {
+        NotificationOutboxEntry entry = new NotificationOutboxEntry();
+        entry.setExportImportType(exportImportType);
+        entry.setProjectId(runNodeRequest.getProjectId());
+        entry.setProcessId(runNodeRequest.getProcessId());
+        entry.setTaskId(runNodeRequest.getTaskId());
+        entry.setReport(report);
+        entry.setCreatedTime(System.currentTimeMillis());
+        // zero padded time and sequence keep the name order equal to the order reports were added,
+        // also for reports added within the same millisecond
+        Path file = outboxDir.resolve(String.format("%013d-%019d-%s%s", entry.getCreatedTime(),
+                sequence.incrementAndGet(), UUID.randomUUID(), ENTRY_EXTENSION));
+        try {
+            write(file, entry);
+        } catch (IOException e) {
+            log.error("Cannot store report {} of task {} in outbox {}", report, runNodeRequest.getTaskId(),
+                    outboxDir, e);
+            ExportException.throwException("Cannot store report {} of task {} in outbox {}", report,
+                    runNodeRequest.getTaskId(), outboxDir, e);
+        }
+        securityContexts.put(file, SecurityContextHolder.getContext());
+        log.info("Report of task {} is stored in outbox as {}", runNodeRequest.getTaskId(), file.getFileName());
+        synchronized (this) {
+            newEntries = true;
+            if (failures == 0) {
+                scheduleDelivery(0);
+            }
+        }
+    }
+
+    private void write(Path file, NotificationOutboxEntry entry) throws IOException {
+        Files.createDirectories(outboxDir);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        objectMapper.writeValue(tmp.toFile(), entry);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private synchronized void scheduleDelivery(long delayMs) {
+        if (sender == null || deliveryScheduled) {
+            return;
+        }
+        deliveryScheduled = true;
+        sender.schedule(this::deliver, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Deliver up to batch size of stored reports and schedule the next pass.
+     */
+    void deliver() {
+        synchronized (this) {
+            deliveryScheduled = false;
+            newEntries = false;
+        }
+        boolean delivered = true;
+        List<Path> batch = nextBatch();
+        for (Path file : batch) {
+            if (!send(file)) {
+                delivered = false;
+                break;
+            }
+        }
+        synchronized (this) {
+            if (!delivered) {
+                failures++;
+                long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(failures - 1, 30));
+                log.warn("Export-import service is unavailable, delivery of reports is retried in {} ms",
+                        backoffMs);
+                scheduleDelivery(backoffMs);
+            } else {
+                failures = 0;
+                if (newEntries || batch.size() == batchSize) {
+                    scheduleDelivery(0);
+                }
+            }
+        }
+    }
+
+    private List<Path> nextBatch() {
+        try (Stream<Path> files = Files.list(outboxDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(ENTRY_EXTENSION))
+                    .sorted()
+                    .limit(batchSize)
+                    .toList();
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            log.error("Cannot read outbox {}", outboxDir, e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Send one report.
+     *
+     * @return false if the service is unavailable and the report has to be retried later,
+     *         true if the report is delivered or failed for good
+     */
+    private boolean send(Path file) {
+        NotificationOutboxEntry entry;
+        try {
+            entry = objectMapper.readValue(file.toFile(), NotificationOutboxEntry.class);
+        } catch (IOException e) {
+            log.error("Cannot read report {} from outbox", file, e);
+            markFailed(file);
+            return true;
+        }
+        SecurityContext securityContext = securityContexts.get(file);
+        if (securityContext != null) {
+            SecurityContextHolder.setContext(securityContext);
+        }
+        try {
+            exportImportFeignClient.report(entry.getExportImportType(), entry.getProjectId(),
+                    entry.getProcessId(), entry.getTaskId(), entry.getReport());
+            log.info("Report of task {} is delivered after {} failed attempts", entry.getTaskId(),
+                    entry.getAttempts());
+            securityContexts.remove(file);
+            Files.deleteIfExists(file);
+            return true;
+        } catch (FeignException e) {
+            if (!isRetryable(e, entry)) {
+                log.error("Export-import service rejected report of task {}, report {}", entry.getTaskId(),
+                        entry.getReport(), e);
+                markFailed(file);
+                return true;
+            }
+            log.warn("Cannot deliver report of task {}: {}", entry.getTaskId(), e.getMessage());
+        } catch (IOException e) {
+            log.error("Cannot delete delivered report {} from outbox", file, e);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Cannot deliver report of task {}: {}", entry.getTaskId(), e.getMessage());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        entry.setAttempts(entry.getAttempts() + 1);
+        try {
+            write(file, entry);
+        } catch (IOException e) {
+            log.error("Cannot update report {} in outbox", file, e);
+        }
+        if (entry.getAttempts() >= maxAttempts) {
+            log.error("Report of task {} is not delivered in {} attempts, report {}", entry.getTaskId(),
+                    entry.getAttempts(), entry.getReport());
+            markFailed(file);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isRetryable(FeignException e, NotificationOutboxEntry entry) {
+        int status = e.status();
+        if (status == 401 || status == 403) {
+            return entry.getAttempts() + 1 < maxUnauthorizedAttempts;
+        }
+        return status < 400 || status >= 500 || status == 408 || status == 429;
+    }
+
+    private void markFailed(Path file) {
+        securityContexts.remove(file);
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + FAILED_EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Cannot move failed report {}", file, e);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.qubership.atp.ei.node.dto.ExportImportReportRequest;
 import org.qubership.atp.ei.node.dto.RunNodeRequest;
 import org.qubership.atp.ei.node.dto.ValidationResult;
 import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 
@@ -34,9 +35,16 @@ import lombok.extern.slf4j.Slf4j;
 public class NotifyService {
 
     private final ExportImportFeignClient exportImportFeignClient;
+    private final NotificationOutbox notificationOutbox;
 
     public NotifyService(ExportImportFeignClient exportImportFeignClient) {
+        this(exportImportFeignClient, null);
+    }
+
+    @Autowired
+    public NotifyService(ExportImportFeignClient exportImportFeignClient, NotificationOutbox notificationOutbox) {
         this.exportImportFeignClient = exportImportFeignClient;
+        this.notificationOutbox = notificationOutbox;
     }
 
     // COMMON
@@ -64,6 +72,10 @@ public class NotifyService {
                             ExportImportReportRequest request) {
         log.info("Notify export service, project {}, process {}, task {}",
                 runNodeRequest.getProjectId(), runNodeRequest.getProcessId(), runNodeRequest.getTaskId());
+        if (notificationOutbox != null && notificationOutbox.isEnabled()) {
+            notificationOutbox.add(exportImportType, runNodeRequest, request);
+            return;
+        }
         try {
             exportImportFeignClient.report(exportImportType, runNodeRequest.getProjectId(),
                     runNodeRequest.getProcessId(), runNodeRequest.getTaskId(), request);
@@ -0,0 +1,130 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.qubership.atp.ei.node.clients.ExportImportFeignClient;
+import org.qubership.atp.ei.node.dto.TaskPhase;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodic sender of progress of queued and running tasks to the export-import service.
+ * Executors only update counters of {@link TaskProgress}, the notifier takes a snapshot of all tasks
+ * once per interval and sends it only for tasks whose progress changed since the previous report.
+ * So any number of updates in a tight loop costs at most one call per task and interval.
+ */
+@Slf4j
+@Service
+public class ProgressNotifier {
+
+    private final TasksService tasksService;
+    private final ExportImportFeignClient exportImportFeignClient;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final Map<String, Snapshot> reported = new HashMap<>();
+    private ScheduledExecutorService sender;
+
+    /**
+     * Instantiates a new progress notifier.
+     *
+     * @param tasksService            the tasks service
+     * @param exportImportFeignClient the client of the export-import service
+     * @param enabled                 whether progress is reported
+     * @param intervalMs              min interval between two reports of one task
+     */
+    public ProgressNotifier(TasksService tasksService, ExportImportFeignClient exportImportFeignClient,
+                            @Value("${atp.ei.progress.report.enabled:false}") boolean enabled,
+                            @Value("${atp.ei.progress.report.intervalMs:10000}") long intervalMs) {
+        this.tasksService = tasksService;
+        this.exportImportFeignClient = exportImportFeignClient;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Start periodic reports.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || sender != null) {
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("atp-ei-progress-notifier-");
+        threadFactory.setDaemon(true);
+        sender = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        sender.scheduleWithFixedDelay(this::reportProgress, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop periodic reports.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (sender != null) {
+            sender.shutdownNow();
+            sender = null;
+        }
+    }
+
+    /**
+     * Send progress of tasks which changed since the previous report.
+     */
+    void reportProgress() {
+        Map<String, Snapshot> current = new HashMap<>();
+        for (TaskProgress progress : tasksService.getTasksProgress()) {
+            if (progress.getType() == null || progress.getTaskId() == null) {
+                continue;
+            }
+            Snapshot snapshot = new Snapshot(progress);
+            current.put(progress.getTaskId(), snapshot);
+            if (snapshot.equals(reported.get(progress.getTaskId()))) {
+                continue;
+            }
+            try {
+                exportImportFeignClient.reportProgress(progress.getType(), progress.getProjectId(),
+                        progress.getProcessId(), progress.getTaskId(), progress);
+            } catch (RuntimeException e) {
+                log.warn("Cannot report progress of task {}: {}", progress.getTaskId(), e.getMessage());
+                // the task is reported again on the next run
+                current.remove(progress.getTaskId());
+            }
+        }
+        reported.clear();
+        reported.putAll(current);
+    }
+
+    private record Snapshot(TaskPhase phase, Integer queuePosition, long entitiesProcessed, long entitiesTotal,
+                            long bytesProcessed) {
+
+        private Snapshot(TaskProgress progress) {
+            this(progress.getPhase(), progress.getQueuePosition(), progress.getEntitiesProcessed(),
+                    progress.getEntitiesTotal(), progress.getBytesProcessed());
+        }
+    }
+}
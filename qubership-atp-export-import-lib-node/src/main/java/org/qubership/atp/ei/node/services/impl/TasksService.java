@@ -1,5 +1,5 @@
 /*
- * # Copyright 2024-2025 NetCracker Technology Corporation
+ * # Copyright 2024-2026 NetCracker Technology Corporation
  * #
  * # Licensed under the Apache License, Version 2.0 (the "License");
  * # you may not use this file except in compliance with the License.
@@ -16,11 +16,16 @@
 
 package org.qubership.atp.ei.node.services.impl;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 
 import org.qubership.atp.ei.node.CancellableExportImportTask;
+import org.qubership.atp.ei.node.dto.TaskPhase;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.concurrent.ListenableFuture;
@@ -34,10 +39,71 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class TasksService {
 
-    private static final Map<String, Future<Object>> tasks = new HashMap<>();
+    public static final int PRIORITY_NORMAL = 0;
+    public static final int PRIORITY_HIGH = 10;
 
+    private final Map<String, RegisteredTask> tasks = new ConcurrentHashMap<>();
+    private final Map<ThreadPoolTaskExecutor, FairTaskScheduler> schedulers = new ConcurrentHashMap<>();
+
+    @Value("${atp.ei.scheduler.enabled:false}")
+    private boolean fairSchedulingEnabled;
+
+    @Value("${atp.ei.scheduler.queueCapacity:1000}")
+    private int schedulerQueueCapacity = 1000;
+
+    @Value("${atp.export.threadPool.maxConcurrentTasks:${atp.export.threadPool.maxPoolSize:40}}")
+    private int maxConcurrentTasks = 40;
+
+    @Value("${atp.ei.scheduler.maxRunningTasksPerProject:10}")
+    private int maxRunningTasksPerProject = 10;
+
+    /**
+     * Gets future of the queued or running task.
+     *
+     * @param taskId the task id
+     * @return the future or null if there is no such task
+     */
     public Future<Object> getTaskById(String taskId) {
-        return tasks.get(taskId);
+        RegisteredTask task = tasks.get(taskId);
+        return task == null ? null : task.getFuture();
+    }
+
+    /**
+     * Gets progress of the queued or running task.
+     *
+     * @param taskId the task id
+     * @return the progress or null if there is no such task
+     */
+    public TaskProgress getTaskProgress(String taskId) {
+        RegisteredTask task = tasks.get(taskId);
+        return task == null ? null : task.progress;
+    }
+
+    /**
+     * Gets progress of all queued and running tasks.
+     *
+     * @return the list of progress
+     */
+    public List<TaskProgress> getTasksProgress() {
+        List<TaskProgress> result = new ArrayList<>();
+        tasks.values().forEach(task -> result.add(task.progress));
+        return result;
+    }
+
+    /**
+     * Count queued or running tasks of the type.
+     *
+     * @param type    {@link org.qubership.atp.ei.node.constants.Constant#EXPORT}
+     *                or {@link org.qubership.atp.ei.node.constants.Constant#IMPORT}
+     * @param running true to count running tasks, false to count queued ones
+     * @return the number of tasks
+     */
+    public long getTaskCount(String type, boolean running) {
+        return tasks.values().stream()
+                .map(task -> task.progress)
+                .filter(progress -> type.equals(progress.getType()))
+                .filter(progress -> running != (progress.getPhase() == TaskPhase.QUEUED))
+                .count();
     }
 
     /**
@@ -46,42 +112,116 @@ public class TasksService {
      * @param taskId the task id
      */
     public void cancelTask(String taskId) {
-        Future task = tasks.get(taskId);
+        RegisteredTask task = tasks.get(taskId);
         if (task != null) {
-            task.cancel(true);
+            task.cancel();
         }
     }
 
+    /**
+     * Gets number of tasks waiting in the queue of the pool.
+     *
+     * @param threadPoolTaskExecutor the pool
+     * @return the number of queued tasks, 0 if fair scheduling is disabled
+     */
+    public int getQueuedTaskCount(ThreadPoolTaskExecutor threadPoolTaskExecutor) {
+        FairTaskScheduler scheduler = schedulers.get(threadPoolTaskExecutor);
+        return scheduler == null ? 0 : scheduler.getQueuedCount();
+    }
+
+    public void submitTask(String taskId, CancellableExportImportTask executor,
+                           ThreadPoolTaskExecutor threadPoolTaskExecutor) {
+        submitTask(taskId, executor, threadPoolTaskExecutor, PRIORITY_NORMAL);
+    }
+
     /**
      * Submit task.
+     * The task is registered before it is submitted, so it can be cancelled as soon as the method returns
+     * and a task which completes immediately never leaves a stale entry behind.
+     * With fair scheduling enabled the task waits in the bounded queue of the pool
+     * until the pool and its project have a free thread.
      *
      * @param taskId   the task id
      * @param executor the executor
+     * @param priority the priority among queued tasks of the same project
      */
     public void submitTask(String taskId, CancellableExportImportTask executor,
-                           ThreadPoolTaskExecutor threadPoolTaskExecutor) {
-        ListenableFuture<Object> task = threadPoolTaskExecutor.submitListenable(executor);
-        task.addCallback(new CleanTaskListCallback(taskId));
+                           ThreadPoolTaskExecutor threadPoolTaskExecutor, int priority) {
+        TaskProgress progress = executor.getProgress() == null ? new TaskProgress(taskId) : executor.getProgress();
+        RegisteredTask registeredTask = new RegisteredTask(progress);
+        RegisteredTask previousTask = tasks.put(taskId, registeredTask);
+        if (previousTask != null) {
+            log.warn("Task {} is submitted again, previous task is not tracked anymore", taskId);
+        }
+        ListenableFuture<Object> task;
+        try {
+            if (fairSchedulingEnabled) {
+                task = schedulers.computeIfAbsent(threadPoolTaskExecutor, pool ->
+                        new FairTaskScheduler(pool, schedulerQueueCapacity, maxConcurrentTasks,
+                                maxRunningTasksPerProject))
+                        .submit(executor, progress, priority);
+            } else {
+                task = threadPoolTaskExecutor.submitListenable(executor);
+            }
+        } catch (RuntimeException e) {
+            tasks.remove(taskId, registeredTask);
+            throw e;
+        }
+        registeredTask.setFuture(task);
+        task.addCallback(new CleanTaskListCallback(taskId, registeredTask));
         task.addCallback(new MarkTaskAsCancelled(executor));
-        tasks.put(taskId, task);
     }
 
-    private static class CleanTaskListCallback implements ListenableFutureCallback<Object> {
+    /**
+     * Entry of the registry, cancellation requested before the future is known is applied once it is set.
+     */
+    private static class RegisteredTask {
+
+        private final TaskProgress progress;
+        private Future<Object> future;
+        private boolean cancelled;
+
+        RegisteredTask(TaskProgress progress) {
+            this.progress = progress;
+        }
+
+        synchronized Future<Object> getFuture() {
+            return future;
+        }
+
+        synchronized void setFuture(Future<Object> future) {
+            this.future = future;
+            if (cancelled) {
+                future.cancel(true);
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private class CleanTaskListCallback implements ListenableFutureCallback<Object> {
 
         private final String taskId;
+        private final RegisteredTask task;
 
-        CleanTaskListCallback(String taskId) {
+        CleanTaskListCallback(String taskId, RegisteredTask task) {
             this.taskId = taskId;
+            this.task = task;
         }
 
         @Override
         public void onFailure(Throwable thr) {
-            tasks.remove(taskId);
+            tasks.remove(taskId, task);
         }
 
         @Override
         public void onSuccess(Object o) {
-            tasks.remove(taskId);
+            tasks.remove(taskId, task);
         }
     }
 
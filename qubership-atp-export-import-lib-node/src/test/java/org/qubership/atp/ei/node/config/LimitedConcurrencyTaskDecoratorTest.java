@@ -0,0 +1,100 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+public class LimitedConcurrencyTaskDecoratorTest {
+
+    private final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        virtualThreads.shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    public void decorate_limitsRunningTasks_andPropagatesMdcOfSubmittingThread() throws Exception {
+        LimitedConcurrencyTaskDecorator decorator = new LimitedConcurrencyTaskDecorator(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<String> requestIds = new CopyOnWriteArrayList<>();
+        CountDownLatch finished = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++) {
+            MDC.put("requestId", "request-" + i);
+            virtualThreads.execute(decorator.decorate(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                requestIds.add(MDC.get("requestId"));
+                sleep();
+                running.decrementAndGet();
+                finished.countDown();
+            }));
+        }
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+        assertEquals(10, requestIds.stream().distinct().count());
+    }
+
+    @Test
+    public void decorate_taskInterruptedWhileWaiting_isCancelled() throws Exception {
+        LimitedConcurrencyTaskDecorator decorator = new LimitedConcurrencyTaskDecorator(1);
+        CountDownLatch release = new CountDownLatch(1);
+        virtualThreads.execute(decorator.decorate(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        FutureTask<Object> waiting = new FutureTask<>(() -> null);
+        Future<?> thread = virtualThreads.submit(decorator.decorate(waiting));
+        Thread.sleep(100);
+
+        thread.cancel(true);
+        release.countDown();
+
+        assertThrows(CancellationException.class, () -> waiting.get(10, TimeUnit.SECONDS));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
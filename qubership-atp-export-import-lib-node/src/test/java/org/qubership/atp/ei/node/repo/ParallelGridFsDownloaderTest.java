@@ -0,0 +1,209 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.repo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+
+public class ParallelGridFsDownloaderTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final String CONTENT_SHA256 = "84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882";
+    private static final int CHUNK_SIZE = 4;
+
+    private final ObjectId fileId = new ObjectId();
+    private final ThreadLocal<int[]> requestedRange = new ThreadLocal<>();
+    private List<Document> storedChunks;
+    private Document storedFile;
+    private ExecutorService executor;
+    private ParallelGridFsDownloader downloader;
+
+    @TempDir
+    public Path tempDir;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        storedFile = new Document("_id", fileId)
+                .append("length", (long) CONTENT.length)
+                .append("chunkSize", CHUNK_SIZE)
+                .append("metadata", new Document(ParallelGridFsUploader.SHA256_FIELD, CONTENT_SHA256));
+        storedChunks = IntStream.range(0, 3)
+                .mapToObj(n -> new Document("files_id", fileId).append("n", n).append("data",
+                        new Binary(Arrays.copyOfRange(CONTENT, n * CHUNK_SIZE,
+                                Math.min(CONTENT.length, (n + 1) * CHUNK_SIZE)))))
+                .toList();
+
+        MongoCollection<Document> files = mock(MongoCollection.class);
+        FindIterable<Document> filesFound = mock(FindIterable.class);
+        when(files.find(any(Bson.class))).thenReturn(filesFound);
+        when(filesFound.first()).thenAnswer(invocation -> storedFile);
+
+        MongoCollection<Document> chunks = mock(MongoCollection.class);
+        FindIterable<Document> chunksFound = mock(FindIterable.class);
+        when(chunks.find(any(Bson.class))).thenAnswer(invocation -> {
+            requestedRange.set(range(invocation.getArgument(0)));
+            return chunksFound;
+        });
+        when(chunksFound.sort(any(Bson.class))).thenReturn(chunksFound);
+        when(chunksFound.iterator()).thenAnswer(invocation -> {
+            int[] range = requestedRange.get();
+            return new ListCursor(storedChunks.stream()
+                    .filter(chunk -> chunk.getInteger("n") >= range[0] && chunk.getInteger("n") < range[1])
+                    .iterator());
+        });
+
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.getCollection("fs.files")).thenReturn(files);
+        when(database.getCollection("fs.chunks")).thenReturn(chunks);
+        executor = Executors.newFixedThreadPool(2);
+        downloader = new ParallelGridFsDownloader(database, "fs", executor, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void download_chunksReadInRanges_writeFileAtChunkPositionsAndVerifyChecksum() throws IOException {
+        Path target = tempDir.resolve("archive.zip");
+
+        long length = downloader.download(fileId, target);
+
+        assertEquals(CONTENT.length, length);
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void download_missingChunk_fail() {
+        storedChunks = List.of(storedChunks.get(0), storedChunks.get(2));
+
+        assertThrows(IOException.class, () -> downloader.download(fileId, tempDir.resolve("archive.zip")));
+    }
+
+    @Test
+    public void download_checksumMismatch_fail() {
+        storedFile.get("metadata", Document.class).put(ParallelGridFsUploader.SHA256_FIELD, "0".repeat(64));
+
+        assertThrows(IOException.class, () -> downloader.download(fileId, tempDir.resolve("archive.zip")));
+    }
+
+    /**
+     * Find bounds of chunk numbers in the filter, whatever way the driver renders the conditions.
+     */
+    private static int[] range(Bson filter) {
+        BsonDocument document = filter.toBsonDocument(BsonDocument.class,
+                MongoClientSettings.getDefaultCodecRegistry());
+        int[] range = new int[2];
+        collectRange(document, range);
+        return range;
+    }
+
+    private static void collectRange(BsonValue value, int[] range) {
+        if (value.isDocument()) {
+            value.asDocument().forEach((key, nested) -> {
+                if ("$gte".equals(key)) {
+                    range[0] = nested.asInt32().getValue();
+                } else if ("$lt".equals(key)) {
+                    range[1] = nested.asInt32().getValue();
+                } else {
+                    collectRange(nested, range);
+                }
+            });
+        } else if (value.isArray()) {
+            value.asArray().forEach(nested -> collectRange(nested, range));
+        }
+    }
+
+    private static class ListCursor implements MongoCursor<Document> {
+
+        private final Iterator<Document> iterator;
+
+        ListCursor(Iterator<Document> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Document next() {
+            return iterator.next();
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+
+        @Override
+        public Document tryNext() {
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+
+        @Override
+        public ServerCursor getServerCursor() {
+            return null;
+        }
+
+        @Override
+        public ServerAddress getServerAddress() {
+            return null;
+        }
+    }
+}
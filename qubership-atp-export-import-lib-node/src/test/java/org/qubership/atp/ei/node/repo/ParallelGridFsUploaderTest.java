@@ -0,0 +1,131 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.ReplaceOptions;
+
+public class ParallelGridFsUploaderTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    private final List<Integer> chunkWrites = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicReference<Document> filesDocument = new AtomicReference<>();
+    private MongoCollection<Document> files;
+    private MongoCollection<Document> chunks;
+    private ExecutorService executor;
+    private ParallelGridFsUploader uploader;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        files = mock(MongoCollection.class);
+        chunks = mock(MongoCollection.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.getCollection("fs.files")).thenReturn(files);
+        when(database.getCollection("fs.chunks")).thenReturn(chunks);
+        doAnswer(invocation -> {
+            filesDocument.set(invocation.getArgument(1));
+            return null;
+        }).when(files).replaceOne(any(Bson.class), any(Document.class), any(ReplaceOptions.class));
+        executor = Executors.newFixedThreadPool(2);
+        uploader = new ParallelGridFsUploader(database, "fs", executor, 2, 4, 3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void upload_transientErrorOnChunk_retryOnlyThisChunkAndStoreFileAfterAllChunks() {
+        AtomicBoolean failed = new AtomicBoolean();
+        List<byte[]> chunkData = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            Document chunk = invocation.getArgument(1);
+            int n = chunk.getInteger("n");
+            chunkWrites.add(n);
+            if (n == 1 && failed.compareAndSet(false, true)) {
+                throw new MongoSocketException("Connection reset", new ServerAddress());
+            }
+            chunkData.add(((Binary) chunk.get("data")).getData());
+            return null;
+        }).when(chunks).replaceOne(any(Bson.class), any(Document.class), any(ReplaceOptions.class));
+
+        ObjectId fileId = uploader.upload(new ByteArrayInputStream(CONTENT), "archive.zip", "application/zip",
+                new Document("originalName", "archive.zip"));
+
+        assertEquals(1, Collections.frequency(chunkWrites, 0));
+        assertEquals(2, Collections.frequency(chunkWrites, 1));
+        assertEquals(1, Collections.frequency(chunkWrites, 2));
+        assertEquals(CONTENT.length, chunkData.stream().mapToInt(data -> data.length).sum());
+        Document file = filesDocument.get();
+        assertEquals(fileId, file.get("_id"));
+        assertEquals((long) CONTENT.length, file.get("length"));
+        assertEquals(4, file.get("chunkSize"));
+        assertEquals("archive.zip", file.get("filename"));
+        Document metadata = file.get("metadata", Document.class);
+        assertEquals("application/zip", metadata.get(ParallelGridFsUploader.CONTENT_TYPE_FIELD));
+        assertEquals("archive.zip", metadata.get("originalName"));
+        assertEquals("84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882",
+                metadata.get(ParallelGridFsUploader.SHA256_FIELD));
+    }
+
+    @Test
+    public void upload_permanentErrorOnChunk_deleteChunksAndDoNotStoreFile() {
+        doAnswer(invocation -> {
+            throw new MongoException("not authorized");
+        }).when(chunks).replaceOne(any(Bson.class), any(Document.class), any(ReplaceOptions.class));
+
+        assertThrows(MongoException.class, () -> uploader.upload(new ByteArrayInputStream(CONTENT),
+                "archive.zip", "application/zip", new Document()));
+
+        verify(chunks).deleteMany(any(Bson.class));
+        verify(files, never()).replaceOne(any(Bson.class), any(Document.class), any(ReplaceOptions.class));
+    }
+}
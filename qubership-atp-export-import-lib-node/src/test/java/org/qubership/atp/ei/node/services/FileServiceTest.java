@@ -16,11 +16,30 @@
 
 package org.qubership.atp.ei.node.services;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +48,19 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ArchiveManifest;
+import org.qubership.atp.ei.node.dto.ArchiveStatistics;
+import org.qubership.atp.ei.node.dto.CancellationToken;
+import org.qubership.atp.ei.node.dto.ManifestEntry;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.qubership.atp.ei.node.dto.ThreadBinding;
+import org.qubership.atp.ei.node.exceptions.ExportException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 @MockitoSettings(strictness = Strictness.WARN)
 @ExtendWith(MockitoExtension.class)
@@ -112,6 +144,278 @@ public class FileServiceTest {
         assertTrue(fresh1LevelFile.exists(), "Fresh file " + fresh1LevelFile.getPath() + " deleted");
     }
 
+    @Test
+    public void packDirectoryToStream_archiveCanBeUnpacked() throws IOException {
+        Path sourceDir = newFolder(workDir, "source").toPath();
+        Path nestedDir = Files.createDirectories(sourceDir.resolve("Macros"));
+        Files.writeString(nestedDir.resolve("entity.json"), "{\"name\":\"macro\"}");
+        Files.writeString(sourceDir.resolve("info.json"), "{}");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.packDirectory(sourceDir, out);
+        Path archive = workDir.toPath().resolve("streamed.zip");
+        Files.write(archive, out.toByteArray());
+
+        Path unpacked = service.unpackZipFile(archive, workDir.toPath().resolve("unpacked"));
+
+        assertEquals("{\"name\":\"macro\"}", Files.readString(unpacked.resolve("Macros").resolve("entity.json")));
+        assertEquals("{}", Files.readString(unpacked.resolve("info.json")));
+    }
+
+    @Test
+    public void unpack_entryOutsideOfDest_isRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            zipOut.putNextEntry(new ZipEntry("../evil.txt"));
+            zipOut.write("evil".getBytes(StandardCharsets.UTF_8));
+            zipOut.closeEntry();
+        }
+        Path archive = workDir.toPath().resolve("evil.zip");
+        Files.write(archive, out.toByteArray());
+        Path dest = workDir.toPath().resolve("nested").resolve("unpacked");
+
+        assertThrows(ExportException.class, () -> service.unpackZipFile(archive, dest));
+        assertThrows(ExportException.class,
+                () -> service.unpackZipStream(new ByteArrayInputStream(out.toByteArray()), dest));
+        assertFalse(Files.exists(dest.resolveSibling("evil.txt")));
+    }
+
+    @Test
+    public void packDirectoryInParallel_archiveCanBeUnpackedWithSameContent() throws IOException {
+        Path sourceDir = newFolder(workDir, "parallelSource").toPath();
+        for (int i = 0; i < 200; i++) {
+            Path parentDir = Files.createDirectories(sourceDir.resolve("TestCase").resolve("parent" + i % 10));
+            Files.writeString(parentDir.resolve(i + ".json"), "{\"id\":" + i + "}");
+        }
+        Files.createDirectories(sourceDir.resolve("EmptyFolder"));
+        FileService parallelService = new FileService(4);
+
+        Path archive;
+        try {
+            archive = parallelService.packDirectory(sourceDir);
+        } finally {
+            parallelService.shutdown();
+        }
+        Path unpacked = service.unpackZipFile(archive, workDir.toPath().resolve("parallelUnpacked"));
+
+        for (int i = 0; i < 200; i++) {
+            Path file = unpacked.resolve("TestCase").resolve("parent" + i % 10).resolve(i + ".json");
+            assertEquals("{\"id\":" + i + "}", Files.readString(file));
+        }
+        assertTrue(Files.isDirectory(unpacked.resolve("EmptyFolder")));
+    }
+
+    @Test
+    public void packDirectoryInParallel_entriesBiggerThanBufferBudget_arePackedAndBudgetIsReleased()
+            throws IOException {
+        Path sourceDir = newFolder(workDir, "budgetSource").toPath();
+        Random random = new Random(11);
+        byte[][] contents = new byte[21][];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = new byte[i == 0 ? 200 * 1024 : 48 * 1024];
+            random.nextBytes(contents[i]);
+            Files.write(sourceDir.resolve(i + ".json"), contents[i]);
+        }
+        ParallelZipWriter.BufferBudget budget = new ParallelZipWriter.BufferBudget(64 * 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Path archive = workDir.toPath().resolve("budget.zip");
+
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            new ParallelZipWriter(executor, budget, 4, path -> false).write(sourceDir, out, new ArchiveStatistics());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(64, budget.available());
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            for (int i = 0; i < contents.length; i++) {
+                assertArrayEquals(contents[i], zipFile.getInputStream(zipFile.getEntry(i + ".json")).readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void unpackZipFileInParallel_allEntriesAndEmptyFoldersAreExtracted() throws IOException {
+        Path sourceDir = newFolder(workDir, "parallelUnpackSource").toPath();
+        for (int i = 0; i < 300; i++) {
+            Path parentDir = Files.createDirectories(sourceDir.resolve("TestPlan").resolve("parent" + i % 7));
+            Files.writeString(parentDir.resolve(i + ".json"), "{\"id\":" + i + "}");
+        }
+        Files.createDirectories(sourceDir.resolve("EmptyFolder"));
+        Path archive = service.packDirectory(sourceDir);
+        FileService parallelService = new FileService(4);
+
+        Path unpacked;
+        try {
+            unpacked = parallelService.unpackZipFile(archive, workDir.toPath().resolve("parallelExtracted"));
+        } finally {
+            parallelService.shutdown();
+        }
+
+        for (int i = 0; i < 300; i++) {
+            Path file = unpacked.resolve("TestPlan").resolve("parent" + i % 7).resolve(i + ".json");
+            assertEquals("{\"id\":" + i + "}", Files.readString(file));
+        }
+        assertTrue(Files.isDirectory(unpacked.resolve("EmptyFolder")));
+    }
+
+    @Test
+    public void packDirectory_alreadyCompressedFileIsStoredWithoutCompression() throws IOException {
+        Path sourceDir = newFolder(workDir, "compressedSource").toPath();
+        byte[] nestedArchive = new byte[4096];
+        new Random(1).nextBytes(nestedArchive);
+        Files.write(sourceDir.resolve("Implementation.zip"), nestedArchive);
+        Files.writeString(sourceDir.resolve("Implementation.json"), "{}");
+        ArchiveStatistics statistics = new ArchiveStatistics();
+
+        Path archive = service.packDirectory(sourceDir, statistics);
+
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertEquals(ZipEntry.STORED, zipFile.getEntry("Implementation.zip").getMethod());
+            assertEquals(ZipEntry.DEFLATED, zipFile.getEntry("Implementation.json").getMethod());
+        }
+        assertEquals(2, statistics.getEntryCount());
+        assertEquals(nestedArchive.length, statistics.getStoredBytes());
+        Path unpacked = service.unpackZipFile(archive, workDir.toPath().resolve("compressedUnpacked"));
+        assertArrayEquals(nestedArchive, Files.readAllBytes(unpacked.resolve("Implementation.zip")));
+    }
+
+    @Test
+    public void buildManifest_listsEntityFilesWithClassParentSizeAndChecksum() throws IOException {
+        Path dataDir = newFolder(workDir, "manifestSource").toPath();
+        UUID parentId = UUID.randomUUID();
+        UUID childId = UUID.randomUUID();
+        UUID rootId = UUID.randomUUID();
+        Path parentDir = Files.createDirectories(dataDir.resolve("TestCase").resolve(parentId.toString()));
+        Files.writeString(parentDir.resolve(childId + ".json"), "{\"id\":1}");
+        Files.writeString(Files.createDirectories(dataDir.resolve("Project")).resolve(rootId + ".json"), "{}");
+        Files.writeString(dataDir.resolve("readme.txt"), "not an entity");
+
+        ArchiveManifest manifest = service.buildManifest(dataDir);
+
+        assertEquals(2, manifest.getEntries().size());
+        ManifestEntry child = manifest.findEntries("TestCase", parentId).get(0);
+        assertEquals(childId, child.getId());
+        assertEquals("TestCase/" + parentId + "/" + childId + ".json", child.getPath());
+        assertEquals(8, child.getSize());
+        CRC32 crc = new CRC32();
+        crc.update("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(Long.toHexString(crc.getValue()), child.getChecksum());
+        assertEquals(rootId, manifest.findEntries("Project", null).get(0).getId());
+    }
+
+    @Test
+    public void packDirectoryWithManifest_manifestIsLastEntry_withSizesAndChecksumsOfPackedFiles()
+            throws IOException {
+        Path dataDir = newFolder(workDir, "packedManifestSource").toPath();
+        UUID parentId = UUID.randomUUID();
+        UUID childId = UUID.randomUUID();
+        Path parentDir = Files.createDirectories(dataDir.resolve("TestCase").resolve(parentId.toString()));
+        Files.writeString(parentDir.resolve(childId + ".json"), "{\"id\":1}");
+        Files.writeString(dataDir.resolve("readme.txt"), "not an entity");
+        FileService parallelService = new FileService(4);
+
+        try {
+            for (FileService packingService : List.of(service, parallelService)) {
+                ArchiveManifest manifest = new ArchiveManifest();
+                Path archive = packingService.packDirectory(dataDir, manifest);
+
+                assertEquals(service.buildManifest(dataDir), manifest);
+                try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+                    List<? extends ZipEntry> entries = zipFile.stream().toList();
+                    ZipEntry manifestEntry = entries.get(entries.size() - 1);
+                    assertEquals(Constant.ARCHIVE_MANIFEST_FILE_NAME, manifestEntry.getName());
+                    assertEquals(manifest, new ObjectMapper().readValue(zipFile.getInputStream(manifestEntry),
+                            ArchiveManifest.class));
+                }
+            }
+        } finally {
+            parallelService.shutdown();
+        }
+    }
+
+    @Test
+    public void packAndUnpack_cancelledTask_stopBeforeAnyEntry() throws IOException {
+        Path sourceDir = newFolder(workDir, "cancelledSource").toPath();
+        Files.writeString(sourceDir.resolve("entity.json"), "{}");
+        Path archive = service.packDirectory(sourceDir);
+        Path dest = workDir.toPath().resolve("cancelledDest");
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        try (ThreadBinding ignored = token.bind()) {
+            assertThrows(CancellationException.class,
+                    () -> service.packDirectory(sourceDir, OutputStream.nullOutputStream()));
+            assertThrows(CancellationException.class,
+                    () -> service.unpackZipStream(Files.newInputStream(archive), dest));
+        }
+        assertFalse(Files.exists(dest.resolve("entity.json")));
+        assertFalse(CancellationToken.current().isCancelled());
+    }
+
+    @Test
+    public void packDirectory_taskCancelledWhileLargeEntryIsWritten_stopsInsideTheEntry() throws IOException {
+        Path sourceDir = newFolder(workDir, "largeSource").toPath();
+        byte[] content = new byte[(int) ParallelZipWriter.LARGE_ENTRY_SIZE * 2];
+        new Random(7).nextBytes(content);
+        Files.write(sourceDir.resolve("large.json"), content);
+        CancellationToken token = new CancellationToken();
+        long[] written = new long[1];
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written[0] += len;
+                token.cancel();
+            }
+        };
+
+        FileService parallelService = new FileService(4);
+
+        try (ThreadBinding ignored = token.bind()) {
+            assertThrows(CancellationException.class, () -> parallelService.packDirectory(sourceDir, out));
+        } finally {
+            parallelService.shutdown();
+        }
+        assertTrue(written[0] < content.length);
+    }
+
+    @Test
+    public void packAndDelete_emitFlightRecorderEventsWithIdsOfBoundTask() throws IOException {
+        Path sourceDir = newFolder(workDir, "recordedSource").toPath();
+        Files.writeString(sourceDir.resolve("first.json"), "{}");
+        Files.writeString(sourceDir.resolve("second.json"), "{}");
+        TaskProgress progress = new TaskProgress("taskId", UUID.randomUUID(), "processId", Constant.EXPORT);
+        Path recordingFile = workDir.toPath().resolve("recording.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("org.qubership.atp.ei.FileOperation");
+            recording.start();
+            try (ThreadBinding ignored = progress.bind()) {
+                Path archive = service.packDirectory(sourceDir);
+                service.deletePath(archive);
+                service.deletePath(sourceDir);
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        assertEquals(List.of("pack", "delete", "delete"), events.stream()
+                .map(event -> event.getString("operation")).toList());
+        RecordedEvent pack = events.get(0);
+        assertEquals(progress.getProjectId().toString(), pack.getString("projectId"));
+        assertEquals("processId", pack.getString("processId"));
+        assertEquals(2, pack.getLong("entries"));
+        assertTrue(pack.getLong("bytes") > 0);
+        assertEquals(3, events.get(2).getLong("entries"));
+        assertEquals(4, events.get(2).getLong("bytes"));
+    }
+
     private static File newFolder(File root, String... subDirs) throws IOException {
         String subFolder = String.join("/", subDirs);
         File result = new File(root, subFolder);
@@ -0,0 +1,123 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ExportFormat;
+import org.qubership.atp.ei.node.dto.TaskPhase;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.qubership.atp.ei.node.services.impl.TasksService;
+import org.qubership.atp.ei.node.services.impl.TestExportTasks;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class MetricsExportImportServiceTest {
+
+    @TempDir
+    public Path tempDir;
+
+    @Mock
+    private TasksService tasksService;
+
+    @Test
+    public void taskGauges_areBackedByTaskRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsExportImportService(registry, tasksService);
+        when(tasksService.getTaskCount(Constant.EXPORT, true)).thenReturn(3L);
+        when(tasksService.getTaskCount(Constant.EXPORT, false)).thenReturn(5L);
+
+        assertEquals(3, registry.get(MetricsExportImportService.ACTIVE_EXPORT_PROCESS_COUNT).gauge().value());
+        assertEquals(5, registry.get(MetricsExportImportService.QUEUED_EXPORT_PROCESS_COUNT).gauge().value());
+    }
+
+    @Test
+    public void taskGauges_countSubmittedExports() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TasksService registeredTasks = new TasksService();
+        new MetricsExportImportService(registry, registeredTasks);
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.initialize();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            registeredTasks.submitTask("running", TestExportTasks.newExport("running", UUID.randomUUID(), tempDir,
+                    () -> {
+                        started.countDown();
+                        release.await();
+                    }), pool);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            registeredTasks.submitTask("queued", TestExportTasks.newExport("queued", UUID.randomUUID(), tempDir,
+                    () -> { }), pool);
+
+            assertEquals(1, registry.get(MetricsExportImportService.ACTIVE_EXPORT_PROCESS_COUNT).gauge().value());
+            assertEquals(1, registry.get(MetricsExportImportService.QUEUED_EXPORT_PROCESS_COUNT).gauge().value());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void addTaskMetrics_recordsPhasesTaggedByProjectFormatAndOutcomeOnly() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MetricsExportImportService service = new MetricsExportImportService(registry);
+        UUID projectId = UUID.randomUUID();
+        for (int i = 0; i < 2; i++) {
+            TaskProgress progress = new TaskProgress("task" + i, projectId, UUID.randomUUID().toString(),
+                    Constant.EXPORT);
+            progress.setPhase(TaskPhase.EXPORTING);
+            progress.addEntitiesProcessed(10);
+            progress.setPhase(TaskPhase.UPLOADING);
+            progress.addBytesProcessed(1000);
+            service.addTaskMetrics(progress, ExportFormat.ATP, MetricsExportImportService.OUTCOME_SUCCESS);
+        }
+
+        assertEquals(20, registry.get(MetricsExportImportService.PROCESSED_ENTITIES_OF_TASKS)
+                .tag("phase", TaskPhase.EXPORTING.name()).counter().count());
+        assertEquals(2000, registry.get(MetricsExportImportService.PROCESSED_BYTES_OF_TASKS)
+                .tag("phase", TaskPhase.UPLOADING.name())
+                .tag("format", ExportFormat.ATP.name())
+                .tag("outcome", MetricsExportImportService.OUTCOME_SUCCESS)
+                .tag("projectId", projectId.toString())
+                .counter().count());
+        assertEquals(2, registry.get(MetricsExportImportService.PHASE_TIME_OF_TASKS)
+                .tag("phase", TaskPhase.UPLOADING.name()).timer().count());
+        for (Meter meter : registry.getMeters()) {
+            assertNull(meter.getId().getTag("processId"));
+        }
+    }
+}
@@ -18,15 +18,23 @@ package org.qubership.atp.ei.node.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.junit.jupiter.api.Assertions;
@@ -37,6 +45,7 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.qubership.atp.ei.node.dto.ObjectLoadResult;
 import org.qubership.atp.ei.ntt.dto.TestCase;
 
 @MockitoSettings(strictness = Strictness.WARN)
@@ -116,6 +125,25 @@ public class ObjectLoaderFromDiskServiceTest {
         assertEquals(fileToMacroIdStandard, fileToMacroId, "Macro from file should be equal to standard.");
     }
 
+    @Test
+    public void sameIdInSeveralFiles_listKeepsLastFile_andLookupFindsFirstFile() throws IOException {
+        Path macrosDir = Files.createDirectories(temporaryFolder.toPath().resolve("Macros"));
+        UUID id = UUID.randomUUID();
+        for (String parent : List.of("first", "second", "third")) {
+            Path parentDir = Files.createDirectories(macrosDir.resolve(parent));
+            Files.writeString(parentDir.resolve(id + ".json"), "{}");
+        }
+        List<Path> walked;
+        try (Stream<Path> files = Files.find(macrosDir, 5, (path, attributes) -> attributes.isRegularFile())) {
+            walked = files.toList();
+        }
+
+        Map<UUID, Path> objects = objectLoaderFromDiskService.getListOfObjects(temporaryFolder.toPath(), "Macros");
+
+        assertEquals(Map.of(id, walked.get(walked.size() - 1)), objects);
+        assertEquals(walked.get(0), objectLoaderFromDiskService.findFileOnDisk(macrosDir, id));
+    }
+
     @Test
     public void getListOfObjects_resultIsEmpty_whenGetNonExistFolderWithObjects() {
         Map<UUID, Path> result = objectLoaderFromDiskService.getListOfObjects(Path.of(""), "Macros",
@@ -151,4 +179,139 @@ public class ObjectLoaderFromDiskServiceTest {
         assertEquals(result.getUuid(), expectedId);
         assertTrue(CollectionUtils.isEmpty(result.getLabelIds()));
     }
+
+    @Test
+    public void findFileOnDisk_findsFilesAddedAfterFolderWasIndexed() throws IOException {
+        Path macrosDir = Files.createDirectories(temporaryFolder.toPath().resolve("Macros"));
+        Path source =
+                Path.of("src/test/resources/ei/import/atp-macros/Macros/75a5c284-f86b-4edd-9343-3086732b5dad.json");
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        Path firstFile = Files.copy(source, macrosDir.resolve(firstId + ".json"));
+
+        assertEquals(firstFile, objectLoaderFromDiskService.findFileOnDisk(macrosDir, firstId));
+        assertNull(objectLoaderFromDiskService.findFileOnDisk(macrosDir, secondId));
+
+        Path parentDir = Files.createDirectories(macrosDir.resolve(UUID.randomUUID().toString()));
+        Path secondFile = Files.copy(source, parentDir.resolve(secondId + ".json"));
+
+        assertEquals(secondFile, objectLoaderFromDiskService.findFileOnDisk(macrosDir, secondId));
+        assertEquals(2, objectLoaderFromDiskService.getListOfObjects(temporaryFolder.toPath(), "Macros").size());
+    }
+
+    @Test
+    public void givenSameReplacementMap_readerIsReused_andEntriesAddedLaterAreApplied() {
+        Map<UUID, UUID> map = new HashMap<>();
+        UUID initId = UUID.fromString("75a5c284-f86b-4edd-9343-3086732b5dad");
+        UUID expectedId = UUID.fromString("75a5c284-f86b-4edd-9343-5086732b5dad");
+        map.put(UUID.randomUUID(), UUID.randomUUID());
+        Path path =
+                Path.of("src/test/resources/ei/import/atp-macros/Macros/75a5c284-f86b-4edd-9343-3086732b5dad.json");
+
+        Macros withoutReplacement = objectLoaderFromDiskService.loadFileAsObjectWithReplacementMap(path,
+                Macros.class, map, true, false);
+        map.put(initId, expectedId);
+        Macros withReplacement = objectLoaderFromDiskService.loadFileAsObjectWithReplacementMap(path,
+                Macros.class, map, true, false);
+
+        assertEquals(initId, withoutReplacement.getUuid());
+        assertEquals(expectedId, withReplacement.getUuid());
+        assertSame(objectLoaderFromDiskService.getObjectReader(Macros.class, map, true, false),
+                objectLoaderFromDiskService.getObjectReader(Macros.class, map, true, false));
+    }
+
+    @Test
+    public void givenReplacementMapIsDropped_cachedMapperDoesNotKeepItReachable() throws InterruptedException {
+        WeakReference<Map<UUID, UUID>> mapRef = loadWithTemporaryReplacementMap();
+
+        for (int i = 0; i < 50 && mapRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertNull(mapRef.get());
+    }
+
+    private WeakReference<Map<UUID, UUID>> loadWithTemporaryReplacementMap() {
+        Map<UUID, UUID> map = new HashMap<>();
+        UUID initId = UUID.fromString("75a5c284-f86b-4edd-9343-3086732b5dad");
+        UUID expectedId = UUID.randomUUID();
+        map.put(initId, expectedId);
+        Path path =
+                Path.of("src/test/resources/ei/import/atp-macros/Macros/75a5c284-f86b-4edd-9343-3086732b5dad.json");
+
+        Macros macros = objectLoaderFromDiskService.loadFileAsObjectWithReplacementMap(path,
+                Macros.class, map, true, false);
+
+        assertEquals(expectedId, macros.getUuid());
+        return new WeakReference<>(map);
+    }
+
+    @Test
+    public void loadObjects_returnsObjectsInOrderOfFiles_andReportsBrokenFiles() throws IOException {
+        Path macrosDir = Files.createDirectories(temporaryFolder.toPath().resolve("Macros"));
+        Path source =
+                Path.of("src/test/resources/ei/import/atp-macros/Macros/75a5c284-f86b-4edd-9343-3086732b5dad.json");
+        Map<UUID, Path> files = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            UUID id = UUID.randomUUID();
+            files.put(id, Files.copy(source, macrosDir.resolve(id + ".json")));
+        }
+        UUID brokenId = UUID.randomUUID();
+        files.put(brokenId, Files.writeString(macrosDir.resolve(brokenId + ".json"), "{broken"));
+
+        Map<UUID, ObjectLoadResult<Macros>> result;
+        try {
+            result = objectLoaderFromDiskService.loadObjects(files, Macros.class, new HashMap<>());
+        } finally {
+            objectLoaderFromDiskService.shutdown();
+        }
+
+        assertEquals(new ArrayList<>(files.keySet()), new ArrayList<>(result.keySet()));
+        assertTrue(result.get(brokenId).isFailed());
+        assertEquals(100, result.values().stream().filter(loaded -> !loaded.isFailed()).count());
+        assertEquals("GET_MONTH", result.values().iterator().next().getObject().getName());
+    }
+
+    @Test
+    public void streamObjects_readsObjectsOfClassFolder_andIsEmptyForMissingFolder() {
+        Map<UUID, UUID> map = new HashMap<>();
+        UUID expectedId = UUID.fromString("75a5c284-f86b-4edd-9343-5086732b5dad");
+        map.put(UUID.fromString("75a5c284-f86b-4edd-9343-3086732b5dad"), expectedId);
+
+        List<Macros> macros;
+        try (Stream<Macros> stream = objectLoaderFromDiskService.streamObjects(
+                Path.of("src/test/resources/ei/import/atp-macros"), Macros.class, map)) {
+            macros = stream.toList();
+        }
+        try (Stream<Macros> stream = objectLoaderFromDiskService.streamObjects(
+                temporaryFolder.toPath(), Macros.class, map)) {
+            assertEquals(0, stream.count());
+        }
+
+        assertEquals(1, macros.size());
+        assertEquals(expectedId, macros.get(0).getUuid());
+    }
+
+    @Test
+    public void findObjectOnDisk_readsObjectsFromMountedArchive() throws IOException {
+        FileService fileService = new FileService();
+        Path archive = temporaryFolder.toPath().resolve("atp-macros.zip");
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            fileService.packDirectory(Path.of("src/test/resources/ei/import/atp-macros"), out);
+        }
+        UUID id = UUID.fromString("75a5c284-f86b-4edd-9343-3086732b5dad");
+
+        Macros macros;
+        Map<UUID, Path> files;
+        try (FileSystem archiveFileSystem = fileService.openZipFileSystem(archive)) {
+            Path workDir = archiveFileSystem.getPath("/");
+            macros = objectLoaderFromDiskService.findObjectOnDisk(workDir, id, Macros.class);
+            files = objectLoaderFromDiskService.getListOfObjects(workDir, Macros.class);
+        }
+
+        assertEquals(id, macros.getUuid());
+        assertEquals(1, files.size());
+        assertTrue(files.containsKey(id));
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.atp.ei.node.dto.ArchiveManifest;
+import org.qubership.atp.ei.node.dto.EntityEncoding;
+import org.qubership.atp.ei.node.exceptions.ExportException;
+
+public class ObjectSaverToDiskServiceTest {
+
+    @TempDir
+    public File workDir;
+
+    private ObjectSaverToDiskService objectSaverToDiskService;
+    private ObjectLoaderFromDiskService objectLoaderFromDiskService;
+
+    @BeforeEach
+    public void setUp() {
+        objectSaverToDiskService = new ObjectSaverToDiskService(new FileService(), false);
+        objectLoaderFromDiskService = new ObjectLoaderFromDiskService();
+    }
+
+    @Test
+    public void asyncWriter_writesAllEntitiesInClassAndParentFolders_whenClosed() {
+        Path dir = workDir.toPath();
+        UUID parentId = UUID.randomUUID();
+
+        try (AsyncEntityWriter writer = objectSaverToDiskService.createAsyncWriter(2, 4)) {
+            for (int i = 0; i < 500; i++) {
+                Macros macros = new Macros();
+                macros.setUuid(UUID.randomUUID());
+                macros.setName("macros" + i);
+                writer.exportAtpEntity(macros.getUuid(), macros, i % 2 == 0 ? parentId : null, dir);
+            }
+        }
+
+        assertEquals(500, objectLoaderFromDiskService.getListOfObjects(dir, "Macros").size());
+        assertEquals(250, objectLoaderFromDiskService.getListOfObjects(dir, Macros.class, parentId).size());
+    }
+
+    @Test
+    public void asyncWriter_reportsWriteError_onClose() throws IOException {
+        Path dir = workDir.toPath();
+        Files.writeString(dir.resolve("Macros"), "file instead of class folder");
+        Macros macros = new Macros();
+        macros.setUuid(UUID.randomUUID());
+
+        AsyncEntityWriter writer = objectSaverToDiskService.createAsyncWriter();
+        writer.exportAtpEntity(macros.getUuid(), macros, dir);
+
+        assertThrows(ExportException.class, writer::close);
+    }
+
+    @Test
+    public void archiveWriter_writesEntitiesAtLoaderPaths_withoutFilesInExportFolder() throws IOException {
+        Path dir = Files.createDirectories(workDir.toPath().resolve("atp-macros"));
+        UUID parentId = UUID.randomUUID();
+        Macros macros = new Macros();
+        macros.setUuid(UUID.randomUUID());
+        macros.setName("GET_MONTH");
+
+        Path archive;
+        try (ArchiveEntityWriter writer = objectSaverToDiskService.createArchiveWriter(dir)) {
+            writer.exportAtpEntity(macros.getUuid(), macros, parentId);
+            writer.exportAtpEntity(macros.getUuid(), macros, parentId);
+            archive = writer.getArchiveFile();
+        }
+
+        assertEquals(workDir.toPath().resolve("atp-macros.zip"), archive);
+        assertFalse(new FileService().isDirNotEmpty(dir));
+        Path unpacked = new FileService().unpackZipFile(archive, workDir.toPath().resolve("unpacked"));
+        Macros loaded = objectLoaderFromDiskService.findObjectOnDisk(unpacked, macros.getUuid(), Macros.class);
+        assertEquals(macros, loaded);
+        assertEquals(1, objectLoaderFromDiskService.getListOfObjects(unpacked, Macros.class, parentId).size());
+        ArchiveManifest manifest = objectLoaderFromDiskService.loadManifest(unpacked);
+        assertEquals(Map.of(macros.getUuid(), unpacked.resolve("Macros").resolve(parentId.toString())
+                        .resolve(macros.getUuid() + ".json")),
+                objectLoaderFromDiskService.getListOfObjects(unpacked, manifest, Macros.class, parentId));
+    }
+
+    @Test
+    public void smileEncoding_entityIsWrittenInBinaryFormat_andLoadedByDetectedFormat() throws IOException {
+        ObjectSaverToDiskService smileSaver =
+                new ObjectSaverToDiskService(new FileService(), false, EntityEncoding.SMILE);
+        Path dir = workDir.toPath();
+        Macros macros = new Macros();
+        macros.setUuid(UUID.randomUUID());
+        macros.setName("GET_MONTH");
+
+        smileSaver.exportAtpEntity(macros.getUuid(), macros, dir);
+
+        Path file = dir.resolve("Macros").resolve(macros.getUuid() + ".json");
+        byte[] content = Files.readAllBytes(file);
+        assertEquals(":)\n", new String(content, 0, 3, StandardCharsets.US_ASCII));
+        assertEquals(macros, objectLoaderFromDiskService.loadFileAsObject(file, Macros.class));
+    }
+}
@@ -17,14 +17,18 @@
 package org.qubership.atp.ei.node.services.impl;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,9 +39,15 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.qubership.atp.ei.node.ExportExecutor;
 import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ExportFormat;
 import org.qubership.atp.ei.node.dto.ExportImportData;
+import org.qubership.atp.ei.node.dto.ExportNodeInfo;
+import org.qubership.atp.ei.node.dto.TaskProgress;
 import org.qubership.atp.ei.node.exceptions.ExportException;
+import org.qubership.atp.ei.node.services.ArchiveEntityWriter;
 import org.qubership.atp.ei.node.services.ExportImportFilesService;
+import org.qubership.atp.ei.node.services.ObjectLoaderFromDiskService;
+import org.qubership.atp.ei.node.services.ObjectSaverToDiskService;
 import org.springframework.test.util.ReflectionTestUtils;
 
 @MockitoSettings(strictness = Strictness.WARN)
@@ -47,6 +57,7 @@ public class ExportNodeServiceImplTest extends AbstractConfigTest {
     private ExportExecutor exportExecutor;
     private ExportNodeServiceImpl exportNodeService;
     private ExportImportFilesService exportImportFilesService;
+    private ObjectLoaderFromDiskService objectLoaderFromDiskService;
 
     @BeforeEach
     public void setUp() throws Exception {
@@ -76,21 +87,29 @@ public class ExportNodeServiceImplTest extends AbstractConfigTest {
             }
         };
 
+        objectLoaderFromDiskService = mock(ObjectLoaderFromDiskService.class);
         exportNodeService = new ExportNodeServiceImpl(threadPoolTaskExecutor, notifyService,
-                objectMapper, exportExecutor, tasksService, exportImportFilesService, fileService, metricsExportImportService);
+                objectMapper, exportExecutor, tasksService, exportImportFilesService, fileService,
+                metricsExportImportService, objectLoaderFromDiskService);
 
         ReflectionTestUtils.setField(exportNodeService, "applicationName", "Application_Name");
     }
 
     @Test
-    public void runExport() throws ExecutionException, InterruptedException, ExportException {
+    public void runExport() throws ExecutionException, InterruptedException, ExportException, IOException {
 
         exportNodeService.runExport(request);
         Future<Object> task = tasksService.getTaskById(taskId);
+        TaskProgress progress = tasksService.getTaskProgress(taskId);
 
         Assertions.assertNotNull(task);
         Path result = (Path) task.get();
         Assertions.assertTrue(Files.exists(result));
+        try (ZipFile archive = new ZipFile(result.toFile())) {
+            // the inner archive of the implementation is counted once, as an entry of the outer archive
+            Assertions.assertEquals(archive.stream().mapToLong(ZipEntry::getCompressedSize).sum(),
+                    progress.getBytesProcessed());
+        }
 
         Thread.sleep(10 * 1000);
         task = tasksService.getTaskById(taskId);
@@ -100,6 +119,7 @@ public class ExportNodeServiceImplTest extends AbstractConfigTest {
 
         Path workDir = exportFolder.resolve(implName);
         Assertions.assertFalse(Files.exists(workDir));
+        verify(objectLoaderFromDiskService).invalidateFolderIndex(exportFolder);
 
         Path unpDir = exportFolder.resolve("unzip_" + result.getFileName().toString());
         fileService.unpackZipFile(result, unpDir);
@@ -115,6 +135,39 @@ public class ExportNodeServiceImplTest extends AbstractConfigTest {
 
         Path exportFileFromArchive = unpDir2.resolve(projectName).resolve(projectId.toString() + fileExt);
         Assertions.assertTrue(Files.exists(exportFileFromArchive));
+        Assertions.assertTrue(Files.exists(unpDir2.resolve(Constant.ARCHIVE_MANIFEST_FILE_NAME)));
+    }
+
+    @Test
+    public void runExport_entitiesWrittenIntoArchiveOfWorkDir_archiveIsStoredAsIs() throws Exception {
+        UUID entityId = UUID.randomUUID();
+        ExportNodeInfo entity = new ExportNodeInfo();
+        entity.setName("entity");
+        ObjectSaverToDiskService objectSaver = new ObjectSaverToDiskService(fileService, false);
+        ExportExecutor archiveExecutor = new ExportExecutor() {
+            @Override
+            public void exportToFolder(ExportImportData exportData, Path workDir) throws Exception {
+                try (ArchiveEntityWriter writer = objectSaver.createArchiveWriter(workDir)) {
+                    writer.exportAtpEntity(entityId, entity);
+                }
+            }
+
+            @Override
+            public String getExportImplementationName() {
+                return implName;
+            }
+        };
+        ExportNodeServiceImpl archiveExportService = new ExportNodeServiceImpl(threadPoolTaskExecutor,
+                notifyService, objectMapper, archiveExecutor, tasksService, exportImportFilesService, fileService,
+                metricsExportImportService);
+        request.setExportFormat(ExportFormat.NTT);
+
+        archiveExportService.runExport(request);
+        Path result = (Path) tasksService.getTaskById(taskId).get();
+
+        Path unpacked = fileService.unpackZipFile(result, result.resolveSibling("unpacked"));
+        Assertions.assertEquals(entity, new ObjectLoaderFromDiskService().findObjectOnDisk(unpacked, entityId,
+                ExportNodeInfo.class));
     }
 
     @Test
@@ -0,0 +1,241 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.qubership.atp.ei.node.clients.ExportImportFeignClient;
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.ExportImportReportRequest;
+import org.qubership.atp.ei.node.dto.NotificationOutboxEntry;
+import org.qubership.atp.ei.node.dto.RunNodeRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationOutboxTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int MAX_UNAUTHORIZED_ATTEMPTS = 3;
+
+    @Mock
+    private ExportImportFeignClient exportImportFeignClient;
+
+    @TempDir
+    public File outboxDir;
+
+    private NotificationOutbox outbox;
+    private NotifyService notifyService;
+
+    @BeforeEach
+    public void setUp() {
+        outbox = newOutbox();
+        notifyService = new NotifyService(exportImportFeignClient, outbox);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void notify_storesReportsInOutbox_andSenderDeliversThemInOrder() throws IOException {
+        RunNodeRequest first = request();
+        RunNodeRequest second = request();
+
+        notifyService.notifyExportFlow(first, "fileId");
+        notifyService.notifyImportFlow(new IllegalStateException("broken"), second);
+
+        verify(exportImportFeignClient, never()).report(any(), any(), any(), any(), any());
+        assertEquals(2, outboxFiles().size());
+
+        outbox.deliver();
+
+        InOrder inOrder = inOrder(exportImportFeignClient);
+        inOrder.verify(exportImportFeignClient).report(eq(Constant.EXPORT), eq(first.getProjectId()),
+                eq(first.getProcessId()), eq(first.getTaskId()), any(ExportImportReportRequest.class));
+        inOrder.verify(exportImportFeignClient).report(eq(Constant.IMPORT), eq(second.getProjectId()),
+                eq(second.getProcessId()), eq(second.getTaskId()), any(ExportImportReportRequest.class));
+        assertTrue(outboxFiles().isEmpty());
+    }
+
+    @Test
+    public void deliver_serviceUnavailable_reportIsKeptAndDeliveredOnRetry() throws IOException {
+        RunNodeRequest request = request();
+        notifyService.notifyExportFlow(request, "fileId");
+        doThrow(new ResourceAccessException("Connection refused")).when(exportImportFeignClient)
+                .report(any(), any(), any(), any(), any());
+
+        outbox.deliver();
+
+        List<Path> files = outboxFiles();
+        assertEquals(1, files.size());
+        NotificationOutboxEntry entry = new ObjectMapper().readValue(files.get(0).toFile(),
+                NotificationOutboxEntry.class);
+        assertEquals(1, entry.getAttempts());
+        assertEquals("COMPLETED", entry.getReport().getStatus());
+        assertEquals("fileId", entry.getReport().getFileId());
+
+        doNothing().when(exportImportFeignClient).report(any(), any(), any(), any(), any());
+        outbox.deliver();
+
+        assertTrue(outboxFiles().isEmpty());
+    }
+
+    @Test
+    public void deliver_afterRestart_reportIsSentWithoutTaskContext_andRetriedWhileUnauthorized() throws IOException {
+        RunNodeRequest request = request();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "token"));
+        notifyService.notifyExportFlow(request, "fileId");
+        SecurityContextHolder.clearContext();
+        outbox.shutdown();
+        NotificationOutbox restartedOutbox = newOutbox();
+        List<Authentication> authentications = new ArrayList<>();
+        doAnswer(invocation -> {
+            authentications.add(SecurityContextHolder.getContext().getAuthentication());
+            throw new FeignException.Unauthorized("Unauthorized", feignRequest(), null, Map.of());
+        }).doAnswer(invocation -> {
+            authentications.add(SecurityContextHolder.getContext().getAuthentication());
+            return null;
+        }).when(exportImportFeignClient).report(any(), any(), any(), any(), any());
+
+        restartedOutbox.deliver();
+
+        List<Path> files = outboxFiles();
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).getFileName().toString().endsWith(".json"));
+
+        restartedOutbox.deliver();
+
+        verify(exportImportFeignClient, times(2)).report(eq(Constant.EXPORT), eq(request.getProjectId()),
+                eq(request.getProcessId()), eq(request.getTaskId()), any(ExportImportReportRequest.class));
+        assertEquals(2, authentications.size());
+        assertNull(authentications.get(0));
+        assertNull(authentications.get(1));
+        assertTrue(outboxFiles().isEmpty());
+    }
+
+    @Test
+    public void deliver_unauthorizedUpToMaxAttempts_reportIsMarkedAsFailed() throws IOException {
+        notifyService.notifyExportFlow(request(), "fileId");
+        doThrow(new FeignException.Forbidden("Forbidden", feignRequest(), null, Map.of()))
+                .when(exportImportFeignClient).report(any(), any(), any(), any(), any());
+
+        for (int attempt = 0; attempt < MAX_UNAUTHORIZED_ATTEMPTS; attempt++) {
+            outbox.deliver();
+        }
+
+        List<Path> files = outboxFiles();
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).getFileName().toString().endsWith(".failed"));
+    }
+
+    @Test
+    public void deliver_headReportFailsUpToMaxAttempts_reportIsMarkedAsFailed_andLaterReportIsDelivered()
+            throws IOException {
+        RunNodeRequest failing = request();
+        RunNodeRequest later = request();
+        notifyService.notifyExportFlow(failing, "fileId");
+        notifyService.notifyExportFlow(later, "fileId");
+        doAnswer(invocation -> {
+            if (failing.getTaskId().equals(invocation.getArgument(3))) {
+                throw new FeignException.InternalServerError("Internal Server Error", feignRequest(), null, Map.of());
+            }
+            return null;
+        }).when(exportImportFeignClient).report(any(), any(), any(), any(), any());
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS - 1; attempt++) {
+            outbox.deliver();
+        }
+
+        verify(exportImportFeignClient, never()).report(any(), any(), any(), eq(later.getTaskId()), any());
+        assertEquals(2, outboxFiles().size());
+
+        outbox.deliver();
+
+        verify(exportImportFeignClient, times(MAX_ATTEMPTS)).report(any(), any(), any(), eq(failing.getTaskId()),
+                any());
+        verify(exportImportFeignClient).report(eq(Constant.EXPORT), eq(later.getProjectId()),
+                eq(later.getProcessId()), eq(later.getTaskId()), any(ExportImportReportRequest.class));
+        List<Path> files = outboxFiles();
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).getFileName().toString().endsWith(".failed"));
+        NotificationOutboxEntry entry = new ObjectMapper().readValue(files.get(0).toFile(),
+                NotificationOutboxEntry.class);
+        assertEquals(failing.getTaskId(), entry.getTaskId());
+        assertEquals(MAX_ATTEMPTS, entry.getAttempts());
+    }
+
+    private NotificationOutbox newOutbox() {
+        return new NotificationOutbox(exportImportFeignClient, true, 50, 1000, 300000, MAX_ATTEMPTS,
+                MAX_UNAUTHORIZED_ATTEMPTS, outboxDir.getPath());
+    }
+
+    private List<Path> outboxFiles() throws IOException {
+        try (Stream<Path> files = Files.list(outboxDir.toPath())) {
+            return files.toList();
+        }
+    }
+
+    private static Request feignRequest() {
+        return Request.create(Request.HttpMethod.POST, "/report", Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private static RunNodeRequest request() {
+        RunNodeRequest request = new RunNodeRequest();
+        request.setProjectId(UUID.randomUUID());
+        request.setProcessId(UUID.randomUUID().toString());
+        request.setTaskId(UUID.randomUUID().toString());
+        return request;
+    }
+}
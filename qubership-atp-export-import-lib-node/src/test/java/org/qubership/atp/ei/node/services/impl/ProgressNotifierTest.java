@@ -0,0 +1,125 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services.impl;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.qubership.atp.ei.node.ExportExecutorWrapper;
+import org.qubership.atp.ei.node.clients.ExportImportFeignClient;
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.TaskPhase;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.ResourceAccessException;
+
+@ExtendWith(MockitoExtension.class)
+public class ProgressNotifierTest {
+
+    @TempDir
+    public Path tempDir;
+
+    @Mock
+    private TasksService tasksService;
+    @Mock
+    private ExportImportFeignClient exportImportFeignClient;
+
+    private ProgressNotifier notifier;
+    private TaskProgress progress;
+
+    @BeforeEach
+    public void setUp() {
+        notifier = new ProgressNotifier(tasksService, exportImportFeignClient, true, 10000);
+        progress = new TaskProgress("taskId", UUID.randomUUID(), "processId", Constant.EXPORT);
+        lenient().when(tasksService.getTasksProgress()).thenReturn(List.of(progress));
+    }
+
+    @Test
+    public void reportProgress_coalescesUpdatesBetweenReports() {
+        progress.setPhase(TaskPhase.EXPORTING);
+        for (int i = 0; i < 1000; i++) {
+            progress.addEntitiesProcessed(1);
+        }
+        notifier.reportProgress();
+        notifier.reportProgress();
+        progress.addBytesProcessed(100);
+        notifier.reportProgress();
+
+        verify(exportImportFeignClient, times(2)).reportProgress(eq(Constant.EXPORT), eq(progress.getProjectId()),
+                eq(progress.getProcessId()), eq("taskId"), eq(progress));
+    }
+
+    @Test
+    public void reportProgress_failedReport_isSentAgainOnNextRun() {
+        doThrow(new ResourceAccessException("unavailable")).doNothing()
+                .when(exportImportFeignClient).reportProgress(any(), any(), any(), any(), any());
+
+        notifier.reportProgress();
+        notifier.reportProgress();
+        notifier.reportProgress();
+
+        verify(exportImportFeignClient, times(2)).reportProgress(any(), any(), any(), eq("taskId"), eq(progress));
+    }
+
+    @Test
+    public void reportProgress_exportSubmittedThroughTasksService_isReported() throws Exception {
+        TasksService registeredTasks = new TasksService();
+        ProgressNotifier exportNotifier = new ProgressNotifier(registeredTasks, exportImportFeignClient, true, 10000);
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.initialize();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            ExportExecutorWrapper export = TestExportTasks.newExport("exportTaskId", UUID.randomUUID(), tempDir,
+                    () -> {
+                        started.countDown();
+                        release.await();
+                    });
+            registeredTasks.submitTask("exportTaskId", export, pool);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            exportNotifier.reportProgress();
+
+            TaskProgress exportProgress = export.getProgress();
+            verify(exportImportFeignClient).reportProgress(eq(Constant.EXPORT), eq(exportProgress.getProjectId()),
+                    eq(exportProgress.getProcessId()), eq("exportTaskId"), eq(exportProgress));
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+}
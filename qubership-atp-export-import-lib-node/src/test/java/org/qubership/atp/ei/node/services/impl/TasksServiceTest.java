@@ -0,0 +1,263 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.atp.ei.node.CancellableExportImportTask;
+import org.qubership.atp.ei.node.constants.Constant;
+import org.qubership.atp.ei.node.dto.TaskPhase;
+import org.qubership.atp.ei.node.dto.TaskProgress;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class TasksServiceTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private TasksService tasksService;
+    private ThreadPoolTaskExecutor threadPoolTaskExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        tasksService = new TasksService();
+        threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(1);
+        threadPoolTaskExecutor.setMaxPoolSize(1);
+        threadPoolTaskExecutor.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        threadPoolTaskExecutor.shutdown();
+    }
+
+    @Test
+    public void submitTask_progressIsVisibleWhileRunning_andTaskIsRemovedWhenFinished() throws Exception {
+        String taskId = UUID.randomUUID().toString();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestTask task = new TestTask(taskId, () -> {
+            started.countDown();
+            release.await();
+        });
+
+        tasksService.submitTask(taskId, task, threadPoolTaskExecutor);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        TaskProgress progress = tasksService.getTaskProgress(taskId);
+        assertEquals(TaskPhase.EXPORTING, progress.getPhase());
+        assertEquals(100, progress.getBytesProcessed());
+        assertEquals(1, tasksService.getTasksProgress().size());
+
+        release.countDown();
+        tasksService.getTaskById(taskId).get(10, TimeUnit.SECONDS);
+        waitUntilRemoved(taskId);
+        assertNull(tasksService.getTaskProgress(taskId));
+        assertTrue(tasksService.getTasksProgress().isEmpty());
+    }
+
+    @Test
+    public void submitTask_exportTask_registersProgressOfTheExport() throws Exception {
+        String taskId = UUID.randomUUID().toString();
+        UUID projectId = UUID.randomUUID();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        tasksService.submitTask(taskId, TestExportTasks.newExport(taskId, projectId, tempDir, () -> {
+            started.countDown();
+            release.await();
+        }), threadPoolTaskExecutor);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        TaskProgress progress = tasksService.getTaskProgress(taskId);
+        assertEquals(Constant.EXPORT, progress.getType());
+        assertEquals(projectId, progress.getProjectId());
+        assertEquals(TaskPhase.EXPORTING, progress.getPhase());
+
+        release.countDown();
+        tasksService.getTaskById(taskId).get(10, TimeUnit.SECONDS);
+        waitUntilRemoved(taskId);
+    }
+
+    @Test
+    public void cancelTask_queuedTaskIsCancelled_andMarkedAsCancelled() throws Exception {
+        String runningTaskId = UUID.randomUUID().toString();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        tasksService.submitTask(runningTaskId, new TestTask(runningTaskId, () -> {
+            started.countDown();
+            release.await();
+        }), threadPoolTaskExecutor);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        String queuedTaskId = UUID.randomUUID().toString();
+        TestTask queuedTask = new TestTask(queuedTaskId, () -> {
+        });
+        tasksService.submitTask(queuedTaskId, queuedTask, threadPoolTaskExecutor);
+        assertEquals(TaskPhase.QUEUED, tasksService.getTaskProgress(queuedTaskId).getPhase());
+
+        tasksService.cancelTask(queuedTaskId);
+        release.countDown();
+
+        assertTrue(queuedTask.isCancelled());
+        waitUntilRemoved(queuedTaskId);
+        waitUntilRemoved(runningTaskId);
+    }
+
+    @Test
+    public void submitTask_withFairScheduling_startsProjectsRoundRobin_andReportsQueuePositions() throws Exception {
+        ReflectionTestUtils.setField(tasksService, "fairSchedulingEnabled", true);
+        UUID bulkProject = UUID.randomUUID();
+        UUID otherProject = UUID.randomUUID();
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        TestTask first = new TestTask("bulk-1", bulkProject, () -> {
+            started.add("bulk-1");
+            release.await();
+        });
+        tasksService.submitTask("bulk-1", first, threadPoolTaskExecutor);
+        for (String taskId : List.of("bulk-2", "bulk-3")) {
+            tasksService.submitTask(taskId, new TestTask(taskId, bulkProject, () -> started.add(taskId)),
+                    threadPoolTaskExecutor);
+        }
+        tasksService.submitTask("other-1", new TestTask("other-1", otherProject, () -> started.add("other-1")),
+                threadPoolTaskExecutor);
+
+        assertEquals(3, tasksService.getQueuedTaskCount(threadPoolTaskExecutor));
+        assertEquals(1, tasksService.getTaskProgress("bulk-2").getQueuePosition());
+        assertEquals(2, tasksService.getTaskProgress("other-1").getQueuePosition());
+        assertEquals(3, tasksService.getTaskProgress("bulk-3").getQueuePosition());
+
+        release.countDown();
+        waitUntilRemoved("bulk-1");
+        waitUntilRemoved("bulk-2");
+        waitUntilRemoved("bulk-3");
+        waitUntilRemoved("other-1");
+        assertEquals(List.of("bulk-1", "bulk-2", "other-1", "bulk-3"), started);
+        assertEquals(0, tasksService.getQueuedTaskCount(threadPoolTaskExecutor));
+    }
+
+    @Test
+    public void submitTask_withFairScheduling_alternatesExportsOfProjects_withinMaxConcurrentTasks()
+            throws Exception {
+        ReflectionTestUtils.setField(tasksService, "fairSchedulingEnabled", true);
+        ReflectionTestUtils.setField(tasksService, "maxConcurrentTasks", 1);
+        // like the pool of virtual threads its max pool size is unbounded, only the tasks cap limits it
+        ThreadPoolTaskExecutor unboundedPool = new ThreadPoolTaskExecutor();
+        unboundedPool.setCorePoolSize(0);
+        unboundedPool.setQueueCapacity(0);
+        unboundedPool.initialize();
+        try {
+            UUID firstProject = UUID.randomUUID();
+            UUID secondProject = UUID.randomUUID();
+            List<String> started = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            CountDownLatch firstStarted = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<String> taskIds = List.of("first-1", "first-2", "first-3", "second-1", "second-2");
+            for (String taskId : taskIds) {
+                UUID projectId = taskId.startsWith("first") ? firstProject : secondProject;
+                tasksService.submitTask(taskId, TestExportTasks.newExport(taskId, projectId, tempDir, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    started.add(taskId);
+                    firstStarted.countDown();
+                    release.await();
+                    running.decrementAndGet();
+                }), unboundedPool);
+            }
+            assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+            assertEquals(4, tasksService.getQueuedTaskCount(unboundedPool));
+
+            release.countDown();
+            for (String taskId : taskIds) {
+                waitUntilRemoved(taskId);
+            }
+            assertEquals(List.of("first-1", "first-2", "second-1", "first-3", "second-2"), started);
+            assertEquals(1, maxRunning.get());
+        } finally {
+            unboundedPool.shutdown();
+        }
+    }
+
+    private void waitUntilRemoved(String taskId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (tasksService.getTaskProgress(taskId) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNull(tasksService.getTaskProgress(taskId));
+    }
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    private static class TestTask implements CancellableExportImportTask {
+
+        private final TaskProgress progress;
+        private final Body body;
+        private volatile boolean cancelled;
+
+        TestTask(String taskId, Body body) {
+            this(taskId, UUID.randomUUID(), body);
+        }
+
+        TestTask(String taskId, UUID projectId, Body body) {
+            this.progress = new TaskProgress(taskId, projectId, UUID.randomUUID().toString(), Constant.EXPORT);
+            this.body = body;
+        }
+
+        @Override
+        public Object call() throws Exception {
+            progress.setPhase(TaskPhase.EXPORTING);
+            progress.addBytesProcessed(100);
+            body.run();
+            return null;
+        }
+
+        @Override
+        public TaskProgress getProgress() {
+            return progress;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled() {
+            cancelled = true;
+        }
+    }
+}
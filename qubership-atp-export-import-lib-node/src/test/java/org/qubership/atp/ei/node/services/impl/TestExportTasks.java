@@ -0,0 +1,77 @@
+/*
+ * # Copyright 2024-2026 NetCracker Technology Corporation
+ * #
+ * # Licensed under the Apache License, Version 2.0 (the "License");
+ * # you may not use this file except in compliance with the License.
+ * # You may obtain a copy of the License at
+ * #
+ * #      http://www.apache.org/licenses/LICENSE-2.0
+ * #
+ * # Unless required by applicable law or agreed to in writing, software
+ * # distributed under the License is distributed on an "AS IS" BASIS,
+ * # WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * # See the License for the specific language governing permissions and
+ * # limitations under the License.
+ */
+
+package org.qubership.atp.ei.node.services.impl;
+
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.qubership.atp.ei.node.ExportExecutor;
+import org.qubership.atp.ei.node.ExportExecutorWrapper;
+import org.qubership.atp.ei.node.dto.ExportFormat;
+import org.qubership.atp.ei.node.dto.ExportImportData;
+import org.qubership.atp.ei.node.dto.ExportNodeInfo;
+import org.qubership.atp.ei.node.dto.RunNodeRequest;
+import org.qubership.atp.ei.node.services.ExportImportFilesService;
+import org.qubership.atp.ei.node.services.FileService;
+import org.qubership.atp.ei.node.services.MetricsExportImportService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Builds real {@link ExportExecutorWrapper} tasks whose export body is supplied by the test,
+ * so the task registry can be exercised with the same tasks the export node submits.
+ */
+public final class TestExportTasks {
+
+    private TestExportTasks() {
+    }
+
+    /**
+     * Creates an NTT export of the project that runs {@code body} inside the export phase.
+     */
+    public static ExportExecutorWrapper newExport(String taskId, UUID projectId, Path baseDir, Body body) {
+        RunNodeRequest request = new RunNodeRequest();
+        request.setTaskId(taskId);
+        request.setProjectId(projectId);
+        request.setProcessId(UUID.randomUUID().toString());
+        request.setExportFormat(ExportFormat.NTT);
+        ExportExecutor exportExecutor = new ExportExecutor() {
+            @Override
+            public void exportToFolder(ExportImportData exportData, Path workDir) throws Exception {
+                body.run();
+            }
+
+            @Override
+            public String getExportImplementationName() {
+                return "test";
+            }
+        };
+        return new ExportExecutorWrapper(request, baseDir.resolve(taskId), exportExecutor, new ExportNodeInfo(),
+                mock(NotifyService.class), new ObjectMapper(), mock(ExportImportFilesService.class),
+                new FileService(), new MetricsExportImportService(new SimpleMeterRegistry()));
+    }
+
+    /**
+     * Export body run by the task.
+     */
+    public interface Body {
+        void run() throws Exception;
+    }
+}